@@ -0,0 +1,74 @@
+package com.gamesbykevin.tetris.ai;
+
+import com.gamesbykevin.tetris.game.IGame;
+
+/**
+ * Plays the pieces of a headless game.<br>
+ * The best placement is located with a search, then the piece is rotated, moved and dropped straight down
+ * @author GOD
+ */
+public final class Agent
+{
+    //the object used to locate the best placement
+    private final Search search;
+    
+    /**
+     * Create a new agent
+     * @param search The search used to locate the best placement
+     */
+    public Agent(final Search search)
+    {
+        this.search = search;
+    }
+    
+    /**
+     * Get the search
+     * @return The search used to locate the best placement
+     */
+    public Search getSearch()
+    {
+        return this.search;
+    }
+    
+    /**
+     * Place the current piece of the game.<br>
+     * If the piece can't reach the best placement it is dropped where it stops
+     * @param game The game we are playing
+     * @return The placement we were aiming for, or null if there is no current piece or it does not fit anywhere
+     */
+    public Placement play(final IGame game)
+    {
+        //there is no piece to place
+        if (!game.hasPiece())
+            return null;
+        
+        //locate the placement with the highest score
+        final Placement placement = search.find(game.getBits(), game.getPieceType(), game.getRotation(), game.getNextType());
+        
+        if (placement != null)
+        {
+            //rotate until we are at our target rotation, or we can't rotate
+            while (game.getRotation() != placement.getRotation() && game.rotate())
+            {
+                //keep rotating
+            }
+            
+            //move east until we are at our target column, or we can't move
+            while (game.getCol() < placement.getCol() && game.moveRight())
+            {
+                //keep moving
+            }
+            
+            //move west until we are at our target column, or we can't move
+            while (game.getCol() > placement.getCol() && game.moveLeft())
+            {
+                //keep moving
+            }
+        }
+        
+        //drop the piece
+        game.hardDrop();
+        
+        return placement;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.gamesbykevin.tetris.ai;
+
+/**
+ * A scored location for a piece
+ * @author GOD
+ */
+public final class Placement
+{
+    //the rotation of the piece
+    private final int rotation;
+    
+    //the location of the piece
+    private final int col, row;
+    
+    //the score of the board with the piece placed here
+    private final double score;
+    
+    //the order this placement was checked, used to break a tie
+    private final int index;
+    
+    protected Placement(final int rotation, final int col, final int row, final double score, final int index)
+    {
+        this.rotation = rotation;
+        this.col = col;
+        this.row = row;
+        this.score = score;
+        this.index = index;
+    }
+    
+    /**
+     * Get the rotation
+     * @return The rotation of the piece ranging from 0 - 3
+     */
+    public int getRotation()
+    {
+        return this.rotation;
+    }
+    
+    /**
+     * Get the column
+     * @return The column of the piece location
+     */
+    public int getCol()
+    {
+        return this.col;
+    }
+    
+    /**
+     * Get the row
+     * @return The row of the piece location where it lands
+     */
+    public int getRow()
+    {
+        return this.row;
+    }
+    
+    /**
+     * Get the score
+     * @return The score of the board with the piece placed here
+     */
+    public double getScore()
+    {
+        return this.score;
+    }
+    
+    /**
+     * Get the index
+     * @return The order this placement was checked
+     */
+    public int getIndex()
+    {
+        return this.index;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,783 @@
+package com.gamesbykevin.tetris.ai;
+
+import com.gamesbykevin.tetris.board.BitBoard;
+import com.gamesbykevin.tetris.board.Board;
+import com.gamesbykevin.tetris.board.piece.Piece;
+import com.gamesbykevin.tetris.board.piece.Shapes;
+import com.gamesbykevin.tetris.shared.Trace;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Locate the best placement for a piece.<br>
+ * Each rotation and column is a candidate, every candidate is scored on a snapshot of the board.<br>
+ * With a depth of 2 the best candidates are expanded with the best reply of the next piece,
+ * the candidates kept are limited by the beam width and the prune margin.<br>
+ * The candidates can be split across a fork join pool, the result will match the serial search.<br>
+ * The tasks and the board of each thread are re-used, so a search only creates the placement it returns.<br>
+ * If a transposition table is set, the best reply of the next piece is read from the table for board states already expanded,
+ * a single placement is cheaper to score than to look up so those scores are always calculated
+ * @author GOD
+ */
+public final class Search
+{
+    /**
+     * The deepest search allowed, we only know the current and next piece
+     */
+    public static final int MAX_DEPTH = 2;
+    
+    /**
+     * Use this type when the next piece is not known
+     */
+    public static final int NO_PIECE = -1;
+    
+    /**
+     * The total number of candidates, every rotation for every column
+     */
+    public static final int CANDIDATES = Piece.TOTAL_ROTATIONS * Board.COLS;
+    
+    //the default number of candidates expanded with the next piece
+    private static final int DEFAULT_BEAM_WIDTH = 8;
+    
+    //by default any candidate in the beam is expanded
+    private static final double DEFAULT_PRUNE_MARGIN = Double.POSITIVE_INFINITY;
+    
+    //the maximum number of candidates scored by a single task
+    private static final int CANDIDATES_PER_TASK = Board.COLS;
+    
+    //the maximum number of candidates expanded with the next piece by a single task
+    private static final int EXPANSIONS_PER_TASK = 2;
+    
+    //every candidate in the order they are checked
+    private static final int[] ALL_CANDIDATES = new int[CANDIDATES];
+    
+    //the most tasks in a parallel search, each range is split in half so this is a binary tree down to a single candidate
+    private static final int MAX_TASKS = 2 * Integer.highestOneBit(CANDIDATES * 2 - 1);
+    
+    //the pool shared by every search
+    private static ForkJoinPool pool;
+    
+    //the weight of each part of the score
+    private final double weightAggregateHeight;
+    private final double weightCompletedLines;
+    private final double weightHoles;
+    private final double weightBumpiness;
+    
+    //the snapshot of the board we are searching
+    private final BitBoard snapshot;
+    
+    //the board used to score each candidate for the serial search
+    private final BitBoard scratch;
+    
+    //the board used to score each candidate by each thread of the parallel search
+    private final ThreadLocal<BitBoard> boards = new ThreadLocal<BitBoard>()
+    {
+        @Override
+        protected BitBoard initialValue()
+        {
+            return new BitBoard();
+        }
+    };
+    
+    //the tasks of the parallel search, the children of task n are 2n + 1 and 2n + 2, created the first time they are needed
+    private Task[] tasks;
+    
+    //the candidates the parallel search is scoring
+    private int[] taskOrder;
+    private int taskType, taskRotation, taskNext;
+    
+    //the best placement of each task, the serial search and the root task use the first
+    private final int[] bestIndexes;
+    private final int[] bestRotations;
+    private final int[] bestCols;
+    private final int[] bestRows;
+    private final double[] bestScores;
+    
+    //the landing row and score of each candidate on the snapshot
+    private final int[] rows;
+    private final double[] scores;
+    
+    //the candidates expanded with the next piece, best first
+    private final int[] beam;
+    
+    //do we split the candidates across multiple threads
+    private boolean parallel = false;
+    
+    //how many pieces do we look ahead
+    private int depth = 1;
+    
+    //the maximum number of candidates expanded with the next piece
+    private int beamWidth = DEFAULT_BEAM_WIDTH;
+    
+    //candidates scoring this far below the best candidate are not expanded
+    private double pruneMargin = DEFAULT_PRUNE_MARGIN;
+    
+    //the cache of the best reply scores for board states already expanded, may be null
+    private TranspositionTable table;
+    
+    //the number of placements scored during the last search
+    private final AtomicLong nodes = new AtomicLong();
+    
+    //the time the last search took (nanoseconds)
+    private long nanos;
+    
+    static
+    {
+        for (int index = 0; index < CANDIDATES; index++)
+        {
+            ALL_CANDIDATES[index] = index;
+        }
+    }
+    
+    /**
+     * Create a new search
+     * @param weightAggregateHeight Aggregate height score weight
+     * @param weightCompletedLines Completed lines score weight
+     * @param weightHoles Holes score weight
+     * @param weightBumpiness Bumpiness score weight
+     */
+    public Search(final double weightAggregateHeight, final double weightCompletedLines, final double weightHoles, final double weightBumpiness)
+    {
+        this.weightAggregateHeight = weightAggregateHeight;
+        this.weightCompletedLines = weightCompletedLines;
+        this.weightHoles = weightHoles;
+        this.weightBumpiness = weightBumpiness;
+        
+        this.snapshot = new BitBoard();
+        this.scratch = new BitBoard();
+        
+        this.rows = new int[CANDIDATES];
+        this.scores = new double[CANDIDATES];
+        this.beam = new int[CANDIDATES];
+        
+        this.bestIndexes = new int[MAX_TASKS];
+        this.bestRotations = new int[MAX_TASKS];
+        this.bestCols = new int[MAX_TASKS];
+        this.bestRows = new int[MAX_TASKS];
+        this.bestScores = new double[MAX_TASKS];
+    }
+    
+    /**
+     * Do we split the candidates across multiple threads
+     * @param parallel true to use the fork join pool, false to score every candidate on the calling thread
+     */
+    public void setParallel(final boolean parallel)
+    {
+        this.parallel = parallel;
+    }
+    
+    /**
+     * Do we split the candidates across multiple threads
+     * @return true if the fork join pool is used, false otherwise
+     */
+    public boolean isParallel()
+    {
+        return this.parallel;
+    }
+    
+    /**
+     * Set how many pieces we look ahead
+     * @param depth 1 to only place the current piece, 2 to also place the next piece
+     * @throws Exception if the depth is not between 1 and MAX_DEPTH
+     */
+    public void setDepth(final int depth) throws Exception
+    {
+        if (depth < 1 || depth > MAX_DEPTH)
+            throw new Exception("Depth must be between 1 and " + MAX_DEPTH + ", depth = " + depth);
+        
+        this.depth = depth;
+    }
+    
+    /**
+     * Get how many pieces we look ahead
+     * @return The search depth
+     */
+    public int getDepth()
+    {
+        return this.depth;
+    }
+    
+    /**
+     * Set the maximum number of candidates expanded with the next piece
+     * @param beamWidth The number of best candidates expanded, must be at least 1
+     * @throws Exception if the beam width is less than 1
+     */
+    public void setBeamWidth(final int beamWidth) throws Exception
+    {
+        if (beamWidth < 1)
+            throw new Exception("Beam width must be at least 1, beam width = " + beamWidth);
+        
+        this.beamWidth = beamWidth;
+    }
+    
+    /**
+     * Get the maximum number of candidates expanded with the next piece
+     * @return The beam width
+     */
+    public int getBeamWidth()
+    {
+        return this.beamWidth;
+    }
+    
+    /**
+     * Set the prune margin.<br>
+     * A candidate is not expanded if its score is more than the margin below the best candidate
+     * @param pruneMargin The margin, must not be negative
+     * @throws Exception if the margin is negative
+     */
+    public void setPruneMargin(final double pruneMargin) throws Exception
+    {
+        if (pruneMargin < 0)
+            throw new Exception("Prune margin can't be negative, prune margin = " + pruneMargin);
+        
+        this.pruneMargin = pruneMargin;
+    }
+    
+    /**
+     * Get the prune margin
+     * @return The margin below the best candidate where candidates are no longer expanded
+     */
+    public double getPruneMargin()
+    {
+        return this.pruneMargin;
+    }
+    
+    /**
+     * Set the cache of the best reply scores for board states already expanded, only used when looking ahead
+     * @param table The transposition table, or null to always calculate the score
+     */
+    public void setTable(final TranspositionTable table)
+    {
+        this.table = table;
+    }
+    
+    /**
+     * Get the cache of the best reply scores for board states already expanded
+     * @return The transposition table, or null if not set
+     */
+    public TranspositionTable getTable()
+    {
+        return this.table;
+    }
+    
+    /**
+     * Get the number of placements scored during the last search
+     * @return The number of nodes visited
+     */
+    public long getNodes()
+    {
+        return this.nodes.get();
+    }
+    
+    /**
+     * Get the time the last search took
+     * @return The duration in nanoseconds
+     */
+    public long getNanos()
+    {
+        return this.nanos;
+    }
+    
+    /**
+     * Get the pool shared by every search
+     * @return The fork join pool
+     */
+    private static synchronized ForkJoinPool getPool()
+    {
+        if (pool == null)
+            pool = new ForkJoinPool();
+        
+        return pool;
+    }
+    
+    /**
+     * Calculate the score of the board
+     * @param bits The board containing the placed piece
+     * @return The weighted sum of the aggregate height, completed lines, holes and bumpiness
+     */
+    public double getScore(final BitBoard bits)
+    {
+        //what is the score for placing the piece here
+        double score = 0;
+        
+        //calculate/add aggregate height score
+        score += (weightAggregateHeight * bits.getAggregateHeight());
+        
+        //calculate/add completed row(s) score
+        score += (weightCompletedLines * bits.getCompletedRowCount());
+        
+        //calculate/add hole count score
+        score += (weightHoles * bits.getHoleCount());
+        
+        //calculate/add bumpiness score
+        score += (weightBumpiness * bits.getBumpiness());
+        
+        return score;
+    }
+    
+    /**
+     * Get the rotation of the candidate.<br>
+     * The rotations are checked clockwise starting with the rotation after the current
+     * @param rotation The current rotation of the piece
+     * @param index The candidate index
+     * @return The rotation ranging from 0 - 3
+     */
+    private static int getRotation(final int rotation, final int index)
+    {
+        return (rotation + (index / Board.COLS) + 1) % Piece.TOTAL_ROTATIONS;
+    }
+    
+    /**
+     * Get the column of the candidate
+     * @param index The candidate index
+     * @return The column of the piece location
+     */
+    private static int getCol(final int index)
+    {
+        return (index % Board.COLS);
+    }
+    
+    /**
+     * Get the row where the candidate lands
+     * @param bits The board we are placing the piece on
+     * @param type The type of piece
+     * @param rotation The rotation of the candidate
+     * @param col The column of the candidate
+     * @return The row of the piece location, or -1 if the piece does not fit on the board here
+     */
+    private static int getLandingRow(final BitBoard bits, final int type, final int rotation, final int col)
+    {
+        //the piece has to be within the walls
+        if (col + Shapes.getMinCol(type, rotation) < 0 || col + Shapes.getMaxCol(type, rotation) >= Board.COLS)
+            return -1;
+        
+        //find where the piece lands
+        final int row = bits.dropRow(type, rotation, col);
+        
+        //every cell has to be on the board
+        if (row + Shapes.getMinRow(type, rotation) < 0)
+            return -1;
+        
+        return row;
+    }
+    
+    /**
+     * Locate the best placement for the piece without looking ahead
+     * @param board The board we are placing the piece on
+     * @param type The type of piece
+     * @param rotation The current rotation of the piece
+     * @return The best placement, or null if the piece does not fit anywhere
+     */
+    public Placement find(final BitBoard board, final int type, final int rotation)
+    {
+        return find(board, type, rotation, NO_PIECE);
+    }
+    
+    /**
+     * Locate the best placement for the piece.<br>
+     * The board is copied first, so it is not modified and may change once this returns.<br>
+     * If the depth is 2 and the next piece is known, each placement is scored by the best reply of the next piece.<br>
+     * A single search object should not be used by multiple threads at the same time
+     * @param board The board we are placing the piece on
+     * @param type The type of piece
+     * @param rotation The current rotation of the piece
+     * @param next The type of the next piece, or NO_PIECE if not known
+     * @return The best placement, or null if the piece does not fit anywhere
+     */
+    public Placement find(final BitBoard board, final int type, final int rotation, final int next)
+    {
+        final long start = System.nanoTime();
+        
+        //reset the node count
+        nodes.set(0);
+        
+        //take a snapshot of the board
+        snapshot.copy(board);
+        
+        final Placement placement;
+        
+        if (getDepth() < 2 || next == NO_PIECE)
+        {
+            //score every candidate
+            placement = find(ALL_CANDIDATES, CANDIDATES, type, rotation, NO_PIECE);
+        }
+        else
+        {
+            //only expand the best candidates with the next piece
+            placement = find(beam, fillBeam(type, rotation), type, rotation, next);
+        }
+        
+        //track how long the search took
+        this.nanos = System.nanoTime() - start;
+        
+        //the number of boards scored, and how long it took
+        if (Trace.ENABLED)
+            Trace.record(Trace.SEARCH, nodes.get(), nanos, null);
+        
+        return placement;
+    }
+    
+    /**
+     * Score the candidates in the order provided
+     * @param order The candidate indexes
+     * @param length The number of candidates in the order
+     * @param type The type of piece
+     * @param rotation The current rotation of the piece
+     * @param next The type of the next piece, or NO_PIECE to only place the current piece
+     * @return The best placement, or null if the piece does not fit anywhere
+     */
+    private Placement find(final int[] order, final int length, final int type, final int rotation, final int next)
+    {
+        if (isParallel())
+        {
+            if (tasks == null)
+            {
+                tasks = new Task[MAX_TASKS];
+                
+                for (int node = 0; node < MAX_TASKS; node++)
+                {
+                    tasks[node] = new Task(this, node);
+                }
+            }
+            
+            //the tasks read the candidates from here
+            taskOrder = order;
+            taskType = type;
+            taskRotation = rotation;
+            taskNext = next;
+            
+            tasks[0].reset(0, length);
+            getPool().invoke(tasks[0]);
+        }
+        else
+        {
+            findRange(scratch, 0, order, type, rotation, next, 0, length);
+        }
+        
+        //the piece does not fit anywhere
+        if (bestIndexes[0] < 0)
+            return null;
+        
+        return new Placement(bestRotations[0], bestCols[0], bestRows[0], bestScores[0], bestIndexes[0]);
+    }
+    
+    /**
+     * Store the best placement of a task
+     * @param node The task
+     * @param index The candidate index, or -1 if the piece does not fit anywhere
+     * @param rotation The rotation of the piece
+     * @param col The column of the piece location
+     * @param row The row of the piece location
+     * @param score The score of the placement
+     */
+    private void setBest(final int node, final int index, final int rotation, final int col, final int row, final double score)
+    {
+        bestIndexes[node] = index;
+        bestRotations[node] = rotation;
+        bestCols[node] = col;
+        bestRows[node] = row;
+        bestScores[node] = score;
+    }
+    
+    /**
+     * Is a candidate better than the best so far?<br>
+     * The higher score is better, if the scores are equal the candidate checked first is better.<br>
+     * This keeps the result the same no matter the order the candidates are compared, so the parallel search matches the serial search
+     * @param score The score of the candidate
+     * @param index The candidate index
+     * @param bestScore The score of the best so far
+     * @param bestIndex The candidate index of the best so far, -1 if there is none
+     * @return true if the candidate is better, false otherwise
+     */
+    private static boolean isBetter(final double score, final int index, final double bestScore, final int bestIndex)
+    {
+        if (bestIndex < 0)
+            return true;
+        
+        if (score != bestScore)
+            return (score > bestScore);
+        
+        return (index < bestIndex);
+    }
+    
+    /**
+     * Store the better placement of the 2 halves of a task
+     * @param node The task
+     * @param first The task that scored the first half
+     * @param second The task that scored the second half
+     */
+    private void setBest(final int node, final int first, final int second)
+    {
+        //the second half is only better if the piece fits there
+        final boolean better = (bestIndexes[second] >= 0) && isBetter(bestScores[second], bestIndexes[second], bestScores[first], bestIndexes[first]);
+        
+        final int best = (better) ? second : first;
+        
+        setBest(node, bestIndexes[best], bestRotations[best], bestCols[best], bestRows[best], bestScores[best]);
+    }
+    
+    /**
+     * Score every candidate on the snapshot and fill the beam with the best candidates, best first.<br>
+     * Ties are ordered by candidate index so the beam is always the same for the same board
+     * @param type The type of piece
+     * @param rotation The current rotation of the piece
+     * @return The number of candidates in the beam
+     */
+    private int fillBeam(final int type, final int rotation)
+    {
+        scratch.copy(snapshot);
+        
+        int length = 0;
+        
+        for (int index = 0; index < CANDIDATES; index++)
+        {
+            final int tmpRotation = getRotation(rotation, index);
+            
+            rows[index] = getLandingRow(scratch, type, tmpRotation, getCol(index));
+            
+            //if the piece does not fit on the board here, continue
+            if (rows[index] < 0)
+                continue;
+            
+            //place the piece and calculate the score
+            scratch.place(type, tmpRotation, getCol(index), rows[index]);
+            scores[index] = getScore(scratch);
+            scratch.remove(type, tmpRotation, getCol(index), rows[index]);
+            
+            //insert the candidate so the beam stays sorted
+            int position = length;
+            
+            while (position > 0 && scores[beam[position - 1]] < scores[index])
+            {
+                beam[position] = beam[position - 1];
+                position--;
+            }
+            
+            beam[position] = index;
+            length++;
+        }
+        
+        //track the nodes visited
+        nodes.addAndGet(length);
+        
+        //limit the beam to the beam width
+        length = Math.min(length, getBeamWidth());
+        
+        //prune the candidates too far below the best
+        while (length > 1 && scores[beam[length - 1]] < scores[beam[0]] - getPruneMargin())
+        {
+            length--;
+        }
+        
+        return length;
+    }
+    
+    /**
+     * Score a range of candidates and store the best placement of the task
+     * @param bits The board to place each candidate, a copy of the snapshot
+     * @param node The task the range belongs to
+     * @param order The candidate indexes
+     * @param type The type of piece
+     * @param rotation The current rotation of the piece
+     * @param next The type of the next piece, or NO_PIECE to only place the current piece
+     * @param start The first position in the order
+     * @param end The position in the order to stop at (exclusive)
+     */
+    private void findRange(final BitBoard bits, final int node, final int[] order, final int type, final int rotation, final int next, final int start, final int end)
+    {
+        //start with a copy of the snapshot
+        bits.copy(snapshot);
+        
+        //the best placement found, only kept as values so no objects are created while searching
+        int bestIndex = -1;
+        int bestRotation = 0, bestCol = 0, bestRow = 0;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        
+        //the number of placements scored
+        long count = 0;
+        
+        for (int position = start; position < end; position++)
+        {
+            final int index = order[position];
+            final int tmpRotation = getRotation(rotation, index);
+            final int col = getCol(index);
+            
+            //the landing row was already calculated for the beam
+            final int row = (next == NO_PIECE) ? getLandingRow(bits, type, tmpRotation, col) : rows[index];
+            
+            //if the piece does not fit on the board here, continue
+            if (row < 0)
+                continue;
+            
+            final double score;
+            
+            if (next == NO_PIECE)
+            {
+                //place the piece and calculate the score
+                bits.place(type, tmpRotation, col, row);
+                score = getScore(bits);
+                bits.remove(type, tmpRotation, col, row);
+                
+                count++;
+            }
+            else
+            {
+                //place the piece and remove the completed rows before the next piece
+                bits.place(type, tmpRotation, col, row);
+                final int lines = bits.clearCompletedRows();
+                
+                //the score of the best reply, including the rows this piece completed
+                score = getReply(bits, next) + (weightCompletedLines * lines);
+                
+                //restore the snapshot for the next candidate
+                bits.copy(snapshot);
+            }
+            
+            //if this score is better than our best
+            if (isBetter(score, index, bestScore, bestIndex))
+            {
+                bestIndex = index;
+                bestRotation = tmpRotation;
+                bestCol = col;
+                bestRow = row;
+                bestScore = score;
+            }
+        }
+        
+        //track the nodes visited
+        nodes.addAndGet(count);
+        
+        //the index is -1 if the piece does not fit anywhere in this range
+        setBest(node, bestIndex, bestRotation, bestCol, bestRow, bestScore);
+    }
+    
+    /**
+     * Get the score of the best placement for the next piece, from the transposition table if it has already been evaluated
+     * @param bits The board after the current piece has been placed
+     * @param next The type of the next piece
+     * @return The best score, or negative infinity if the next piece does not fit anywhere
+     */
+    private double getReply(final BitBoard bits, final int next)
+    {
+        if (table == null)
+            return getReplyScore(bits, next);
+        
+        final long key = TranspositionTable.getKey(bits, next);
+        
+        //check if we already have the score
+        double score = table.get(key);
+        
+        if (Double.isNaN(score))
+        {
+            score = getReplyScore(bits, next);
+            table.put(key, score);
+        }
+        
+        return score;
+    }
+    
+    /**
+     * Get the score of the best placement for the next piece
+     * @param bits The board after the current piece has been placed
+     * @param next The type of the next piece
+     * @return The best score, or negative infinity if the next piece does not fit anywhere
+     */
+    private double getReplyScore(final BitBoard bits, final int next)
+    {
+        double best = Double.NEGATIVE_INFINITY;
+        
+        //the number of placements scored
+        int count = 0;
+        
+        for (int index = 0; index < CANDIDATES; index++)
+        {
+            //the starting rotation does not matter since every rotation is checked
+            final int tmpRotation = getRotation(0, index);
+            final int col = getCol(index);
+            final int row = getLandingRow(bits, next, tmpRotation, col);
+            
+            //if the piece does not fit on the board here, continue
+            if (row < 0)
+                continue;
+            
+            //place the piece and calculate the score
+            bits.place(next, tmpRotation, col, row);
+            best = Math.max(best, getScore(bits));
+            bits.remove(next, tmpRotation, col, row);
+            
+            count++;
+        }
+        
+        //track the nodes visited
+        nodes.addAndGet(count);
+        
+        return best;
+    }
+    
+    /**
+     * Task to score a range of candidates, splitting the range until it is small enough.<br>
+     * The tasks are created once for each search and reset before each use
+     */
+    private static final class Task extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+        
+        //the search containing the snapshot, weights and candidates
+        private final Search search;
+        
+        //the position of this task in the tree, also where the best placement is stored
+        private final int node;
+        
+        //the range of positions in the order
+        private int start, end;
+        
+        private Task(final Search search, final int node)
+        {
+            this.search = search;
+            this.node = node;
+        }
+        
+        /**
+         * Prepare the task to score another range
+         * @param start The first position in the order
+         * @param end The position in the order to stop at (exclusive)
+         */
+        private void reset(final int start, final int end)
+        {
+            reinitialize();
+            
+            this.start = start;
+            this.end = end;
+        }
+        
+        @Override
+        protected void compute()
+        {
+            //if the range is small enough score it here
+            if (end - start <= ((search.taskNext == NO_PIECE) ? CANDIDATES_PER_TASK : EXPANSIONS_PER_TASK))
+            {
+                search.findRange(search.boards.get(), node, search.taskOrder, search.taskType, search.taskRotation, search.taskNext, start, end);
+                return;
+            }
+            
+            //split the range in half
+            final int middle = (start + end) >>> 1;
+            
+            final Task first = search.tasks[node * 2 + 1];
+            final Task second = search.tasks[node * 2 + 2];
+            
+            first.reset(start, middle);
+            second.reset(middle, end);
+            
+            //score the first half on another thread and the second here
+            first.fork();
+            second.compute();
+            first.join();
+            
+            //the tie break keeps the result the same as the serial search
+            search.setBest(node, first.node, second.node);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,268 @@
+package com.gamesbykevin.tetris.ai;
+
+import com.gamesbykevin.tetris.board.BitBoard;
+import com.gamesbykevin.tetris.board.piece.Shapes;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of scores for board states that have already been evaluated.<br>
+ * Each state is keyed by the zobrist hash of the board combined with a key for the piece type.<br>
+ * The entries are grouped into small buckets, when a bucket is full an entry is evicted with the clock algorithm.<br>
+ * The scores depend on the weights of the search, so a table should only be used by searches with the same weights
+ * @author GOD
+ */
+public final class TranspositionTable
+{
+    /**
+     * Use this type when the score does not depend on a piece
+     */
+    public static final int NO_PIECE = Search.NO_PIECE;
+    
+    //the number of entries in each bucket
+    private static final int WAYS = 4;
+    
+    //the number of locks shared by the buckets
+    private static final int LOCKS = 16;
+    
+    //the seed used to create the piece keys, so the keys are always the same
+    private static final long KEY_SEED = 0x2545F4914F6CDD1DL;
+    
+    //the random key of each piece type
+    private static final long[] TYPE_KEYS = new long[Shapes.getTypeCount()];
+    
+    //the key of every entry
+    private final long[] keys;
+    
+    //the score of every entry
+    private final double[] scores;
+    
+    //does the entry contain a score
+    private final boolean[] used;
+    
+    //has the entry been read since the clock hand last passed it
+    private final boolean[] referenced;
+    
+    //the clock hand of each bucket
+    private final int[] hands;
+    
+    //the locks guarding the buckets
+    private final Object[] locks;
+    
+    //the mask to get the bucket of a key
+    private final int mask;
+    
+    //the number of lookups that found/did not find a score
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    
+    static
+    {
+        final Random random = new Random(KEY_SEED);
+        
+        for (int type = 0; type < TYPE_KEYS.length; type++)
+        {
+            TYPE_KEYS[type] = random.nextLong();
+        }
+    }
+    
+    /**
+     * Create a new table
+     * @param capacity The maximum number of entries, rounded down to a power of 2
+     * @throws Exception if the capacity is smaller than a single bucket
+     */
+    public TranspositionTable(final int capacity) throws Exception
+    {
+        if (capacity < WAYS)
+            throw new Exception("Capacity must be at least " + WAYS + ", capacity = " + capacity);
+        
+        final int buckets = Integer.highestOneBit(capacity / WAYS);
+        
+        this.keys = new long[buckets * WAYS];
+        this.scores = new double[buckets * WAYS];
+        this.used = new boolean[buckets * WAYS];
+        this.referenced = new boolean[buckets * WAYS];
+        this.hands = new int[buckets];
+        this.mask = buckets - 1;
+        
+        this.locks = new Object[LOCKS];
+        
+        for (int i = 0; i < locks.length; i++)
+        {
+            locks[i] = new Object();
+        }
+    }
+    
+    /**
+     * Get the key of a board state
+     * @param bits The board
+     * @param type The type of piece, or NO_PIECE if the score does not depend on a piece
+     * @return The zobrist hash of the board combined with the key of the piece type
+     */
+    public static long getKey(final BitBoard bits, final int type)
+    {
+        return (type == NO_PIECE) ? bits.getHash() : (bits.getHash() ^ TYPE_KEYS[type]);
+    }
+    
+    /**
+     * Get the first entry of the bucket for the key
+     * @param key The key
+     * @return The index of the first entry in the bucket
+     */
+    private int getBucket(final long key)
+    {
+        //mix the upper bits in since the table may be small
+        return (int)((key ^ (key >>> 32)) & mask);
+    }
+    
+    /**
+     * Get the cached score
+     * @param key The key of the board state
+     * @return The score, or Double.NaN if the board state is not in the table
+     */
+    public double get(final long key)
+    {
+        final int bucket = getBucket(key);
+        
+        synchronized (locks[bucket & (LOCKS - 1)])
+        {
+            for (int i = bucket * WAYS; i < (bucket + 1) * WAYS; i++)
+            {
+                if (used[i] && keys[i] == key)
+                {
+                    //flag the entry as recently used
+                    referenced[i] = true;
+                    
+                    hits.incrementAndGet();
+                    return scores[i];
+                }
+            }
+        }
+        
+        misses.incrementAndGet();
+        return Double.NaN;
+    }
+    
+    /**
+     * Cache the score.<br>
+     * If the bucket is full the clock hand moves until it finds an entry that has not been recently used
+     * @param key The key of the board state
+     * @param score The score of the board state
+     */
+    public void put(final long key, final double score)
+    {
+        final int bucket = getBucket(key);
+        
+        synchronized (locks[bucket & (LOCKS - 1)])
+        {
+            //the entry we will replace
+            int index = -1;
+            
+            for (int i = bucket * WAYS; i < (bucket + 1) * WAYS; i++)
+            {
+                //replace the existing entry or use the first empty entry
+                if (used[i] && keys[i] == key || !used[i] && index < 0)
+                {
+                    index = i;
+                    
+                    if (used[i])
+                        break;
+                }
+            }
+            
+            //if the bucket is full, evict an entry
+            if (index < 0)
+            {
+                while (true)
+                {
+                    index = (bucket * WAYS) + hands[bucket];
+                    
+                    //move the clock hand to the next entry
+                    hands[bucket] = (hands[bucket] + 1) % WAYS;
+                    
+                    //if the entry has not been recently used we will replace it
+                    if (!referenced[index])
+                        break;
+                    
+                    //give the entry a second chance
+                    referenced[index] = false;
+                }
+            }
+            
+            keys[index] = key;
+            scores[index] = score;
+            used[index] = true;
+            referenced[index] = false;
+        }
+    }
+    
+    /**
+     * Remove every entry and reset the counters
+     */
+    public void clear()
+    {
+        for (int bucket = 0; bucket < hands.length; bucket++)
+        {
+            synchronized (locks[bucket & (LOCKS - 1)])
+            {
+                for (int i = bucket * WAYS; i < (bucket + 1) * WAYS; i++)
+                {
+                    used[i] = false;
+                    referenced[i] = false;
+                }
+                
+                hands[bucket] = 0;
+            }
+        }
+        
+        resetCounters();
+    }
+    
+    /**
+     * Reset the hit/miss counters
+     */
+    public void resetCounters()
+    {
+        hits.set(0);
+        misses.set(0);
+    }
+    
+    /**
+     * Get the maximum number of entries
+     * @return The number of entries the table can hold
+     */
+    public int getCapacity()
+    {
+        return this.keys.length;
+    }
+    
+    /**
+     * Get the number of lookups that found a score
+     * @return The number of hits
+     */
+    public long getHits()
+    {
+        return this.hits.get();
+    }
+    
+    /**
+     * Get the number of lookups that did not find a score
+     * @return The number of misses
+     */
+    public long getMisses()
+    {
+        return this.misses.get();
+    }
+    
+    /**
+     * Get the ratio of lookups that found a score
+     * @return The hit rate ranging from 0 - 1, 0 if there were no lookups
+     */
+    public double getHitRate()
+    {
+        final long total = getHits() + getMisses();
+        
+        return (total == 0) ? 0 : ((double)getHits() / total);
+    }
+}
\ No newline at end of file
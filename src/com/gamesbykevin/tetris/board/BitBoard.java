@@ -0,0 +1,450 @@
+package com.gamesbykevin.tetris.board;
+
+import com.gamesbykevin.tetris.board.piece.Shapes;
+
+import java.util.Random;
+
+/**
+ * Bit representation of the blocks on a board.<br>
+ * Each row is stored as a mask where bit n is set if column n contains a block,
+ * each column is stored as a mask where bit n is set if row n contains a block.<br>
+ * Both are kept in sync so row and column queries never have to walk the cells.<br>
+ * A zobrist hash of the blocks is also kept in sync, so identical boards can be recognized without comparing every row
+ * @author GOD
+ */
+public final class BitBoard
+{
+    //the row masks, one per row
+    private final int[] rows;
+    
+    //the column masks, one per column
+    private final int[] columns;
+    
+    //the zobrist hash of the blocks
+    private long hash;
+    
+    /**
+     * The mask of a row where every column has a block
+     */
+    public static final int FULL_ROW = (1 << Board.COLS) - 1;
+    
+    //the seed used to create the hash keys, so the keys are always the same
+    private static final long KEY_SEED = 0x5DEECE66DL;
+    
+    //the random key of each location [row][col]
+    private static final long[][] KEYS = new long[Board.ROWS][Board.COLS];
+    
+    static
+    {
+        final Random random = new Random(KEY_SEED);
+        
+        for (int row = 0; row < Board.ROWS; row++)
+        {
+            for (int col = 0; col < Board.COLS; col++)
+            {
+                KEYS[row][col] = random.nextLong();
+            }
+        }
+    }
+    
+    public BitBoard()
+    {
+        this.rows = new int[Board.ROWS];
+        this.columns = new int[Board.COLS];
+    }
+    
+    /**
+     * Create a snapshot of an existing board
+     * @param source The board we want to copy
+     */
+    public BitBoard(final BitBoard source)
+    {
+        this();
+        
+        //copy the masks
+        copy(source);
+    }
+    
+    /**
+     * Replace the blocks with the blocks of another board.<br>
+     * This allows a scratch board to be re-used without creating new objects
+     * @param source The board we want to copy
+     */
+    public void copy(final BitBoard source)
+    {
+        System.arraycopy(source.rows, 0, rows, 0, rows.length);
+        System.arraycopy(source.columns, 0, columns, 0, columns.length);
+        this.hash = source.hash;
+    }
+    
+    /**
+     * Remove all blocks
+     */
+    public void reset()
+    {
+        for (int row = 0; row < rows.length; row++)
+        {
+            rows[row] = 0;
+        }
+        
+        for (int col = 0; col < columns.length; col++)
+        {
+            columns[col] = 0;
+        }
+        
+        this.hash = 0;
+    }
+    
+    /**
+     * Mark the location as having a block
+     * @param col Column
+     * @param row Row
+     */
+    public void set(final int col, final int row)
+    {
+        //the hash only changes if the location was empty
+        if ((rows[row] & (1 << col)) == 0)
+            hash ^= KEYS[row][col];
+        
+        rows[row] |= (1 << col);
+        columns[col] |= (1 << row);
+    }
+    
+    /**
+     * Mark the location as empty
+     * @param col Column
+     * @param row Row
+     */
+    public void clear(final int col, final int row)
+    {
+        //the hash only changes if the location had a block
+        if ((rows[row] & (1 << col)) != 0)
+            hash ^= KEYS[row][col];
+        
+        rows[row] &= ~(1 << col);
+        columns[col] &= ~(1 << row);
+    }
+    
+    /**
+     * Mark every cell of the piece as having a block.<br>
+     * Cells outside of the board are ignored
+     * @param type The type of piece
+     * @param rotation The rotation ranging from 0 - 3
+     * @param col The column of the piece location
+     * @param row The row of the piece location
+     */
+    public void place(final int type, final int rotation, final int col, final int row)
+    {
+        for (int i = 0; i < Shapes.CELLS; i++)
+        {
+            final int cell = Shapes.getCell(type, rotation, i);
+            
+            //calculate location for block
+            final int tmpCol = col + Shapes.getCol(cell);
+            final int tmpRow = row + Shapes.getRow(cell);
+            
+            if (tmpCol >= 0 && tmpCol < Board.COLS && tmpRow >= 0 && tmpRow < Board.ROWS)
+                set(tmpCol, tmpRow);
+        }
+    }
+    
+    /**
+     * Mark every cell of the piece as empty.<br>
+     * This will undo place() when the piece was placed where no blocks existed
+     * @param type The type of piece
+     * @param rotation The rotation ranging from 0 - 3
+     * @param col The column of the piece location
+     * @param row The row of the piece location
+     */
+    public void remove(final int type, final int rotation, final int col, final int row)
+    {
+        for (int i = 0; i < Shapes.CELLS; i++)
+        {
+            final int cell = Shapes.getCell(type, rotation, i);
+            
+            //calculate location for block
+            final int tmpCol = col + Shapes.getCol(cell);
+            final int tmpRow = row + Shapes.getRow(cell);
+            
+            if (tmpCol >= 0 && tmpCol < Board.COLS && tmpRow >= 0 && tmpRow < Board.ROWS)
+                clear(tmpCol, tmpRow);
+        }
+    }
+    
+    /**
+     * Does a block exist at the location.<br>
+     * The location is expected to be within the bounds of the board
+     * @param col Column
+     * @param row Row
+     * @return true if a block exists, false otherwise
+     */
+    public boolean has(final int col, final int row)
+    {
+        return ((rows[row] >> col) & 1) != 0;
+    }
+    
+    /**
+     * Would the piece collide if placed at the location?<br>
+     * A piece collides if a cell is outside the walls, below the floor or on an existing block.<br>
+     * Cells above the ceiling are treated as open space.<br>
+     * Only the rows of the piece are checked and nothing is allocated
+     * @param type The type of piece
+     * @param rotation The rotation ranging from 0 - 3
+     * @param col The column of the piece location
+     * @param row The row of the piece location
+     * @return true if the piece can't be placed here, false otherwise
+     */
+    public boolean collides(final int type, final int rotation, final int col, final int row)
+    {
+        //the column of the west most cell
+        final int west = col + Shapes.getMinCol(type, rotation);
+        
+        //check the walls
+        if (west < 0 || col + Shapes.getMaxCol(type, rotation) >= Board.COLS)
+            return true;
+        
+        //check the floor
+        if (row + Shapes.getMaxRow(type, rotation) >= Board.ROWS)
+            return true;
+        
+        //the row of the north most cell
+        final int north = row + Shapes.getMinRow(type, rotation);
+        
+        for (int i = 0; i <= Shapes.getMaxRow(type, rotation) - Shapes.getMinRow(type, rotation); i++)
+        {
+            //rows above the ceiling are empty
+            if (north + i < 0)
+                continue;
+            
+            //if the piece row overlaps the board row we have a collision
+            if ((rows[north + i] & (Shapes.getRowMask(type, rotation, i) << west)) != 0)
+                return true;
+        }
+        
+        //no collision
+        return false;
+    }
+    
+    /**
+     * Get the row where the piece will land when dropped straight down from above the blocks.<br>
+     * The landing row is calculated from the highest block in each column and the bottom cell of the piece in that column.<br>
+     * The piece is expected to be within the walls at this column.<br>
+     * If the columns are filled too high, the landing row will leave cells above the ceiling
+     * @param type The type of piece
+     * @param rotation The rotation ranging from 0 - 3
+     * @param col The column of the piece location
+     * @return The row of the piece location where it lands
+     */
+    public int dropRow(final int type, final int rotation, final int col)
+    {
+        //the column of the west most cell
+        final int west = col + Shapes.getMinCol(type, rotation);
+        
+        //the lowest row we can land on is limited by the floor
+        int row = Board.ROWS;
+        
+        for (int i = 0; i <= Shapes.getMaxCol(type, rotation) - Shapes.getMinCol(type, rotation); i++)
+        {
+            //the row of the highest block in this column, or the floor if none
+            final int surface = (columns[west + i] == 0) ? Board.ROWS : Integer.numberOfTrailingZeros(columns[west + i]);
+            
+            //the bottom cell has to land above the surface
+            row = Math.min(row, surface - 1 - Shapes.getBottom(type, rotation, i));
+        }
+        
+        return row;
+    }
+    
+    /**
+     * Get the zobrist hash of the blocks.<br>
+     * Boards with the same blocks always have the same hash
+     * @return The hash of every location containing a block
+     */
+    public long getHash()
+    {
+        return this.hash;
+    }
+    
+    /**
+     * Get the mask for the row
+     * @param row Row
+     * @return The mask where bit n is set if column n has a block
+     */
+    public int getRow(final int row)
+    {
+        return this.rows[row];
+    }
+    
+    /**
+     * Is every column in this row a block
+     * @param row Row
+     * @return true if the row is complete, false otherwise
+     */
+    public boolean isComplete(final int row)
+    {
+        return (rows[row] == FULL_ROW);
+    }
+    
+    /**
+     * Does this row have no blocks
+     * @param row Row
+     * @return true if the row is empty, false otherwise
+     */
+    public boolean isEmpty(final int row)
+    {
+        return (rows[row] == 0);
+    }
+    
+    /**
+     * Get the number of completed rows
+     * @return The total number of rows that have a block across all columns
+     */
+    public int getCompletedRowCount()
+    {
+        int count = 0;
+        
+        for (int row = 0; row < rows.length; row++)
+        {
+            if (rows[row] == FULL_ROW)
+                count++;
+        }
+        
+        return count;
+    }
+    
+    /**
+     * Remove the completed rows and move the rows above them down
+     * @return The number of rows removed
+     */
+    public int clearCompletedRows()
+    {
+        int count = 0;
+        
+        //the row we are moving the next incomplete row to
+        int destination = rows.length - 1;
+        
+        for (int row = rows.length - 1; row >= 0; row--)
+        {
+            if (rows[row] == FULL_ROW)
+            {
+                count++;
+            }
+            else
+            {
+                rows[destination] = rows[row];
+                destination--;
+            }
+        }
+        
+        //nothing was removed
+        if (count == 0)
+            return 0;
+        
+        //the rows at the top are now empty
+        for (int row = destination; row >= 0; row--)
+        {
+            rows[row] = 0;
+        }
+        
+        //rebuild the column masks and hash from the row masks
+        for (int col = 0; col < columns.length; col++)
+        {
+            columns[col] = 0;
+        }
+        
+        hash = 0;
+        
+        for (int row = 0; row < rows.length; row++)
+        {
+            for (int mask = rows[row]; mask != 0; mask &= (mask - 1))
+            {
+                final int col = Integer.numberOfTrailingZeros(mask);
+                
+                columns[col] |= (1 << row);
+                hash ^= KEYS[row][col];
+            }
+        }
+        
+        return count;
+    }
+    
+    /**
+     * Get the column height
+     * @param col column
+     * @return The height of the highest block in the given column, if no blocks exist 0 will be returned
+     */
+    public int getColumnHeight(final int col)
+    {
+        //no blocks in this column
+        if (columns[col] == 0)
+            return 0;
+        
+        //the lowest set bit is the highest block
+        return (Board.ROWS - Integer.numberOfTrailingZeros(columns[col]));
+    }
+    
+    /**
+     * Count the number of holes in the column
+     * @param col column
+     * @return The number of empty locations with at least a block above it
+     */
+    public int getHoleCount(final int col)
+    {
+        return (getColumnHeight(col) - Integer.bitCount(columns[col]));
+    }
+    
+    /**
+     * Get the height of the highest block in each column
+     * @return The total height of the highest block in all columns
+     */
+    public int getAggregateHeight()
+    {
+        int height = 0;
+        
+        for (int col = 0; col < columns.length; col++)
+        {
+            height += getColumnHeight(col);
+        }
+        
+        return height;
+    }
+    
+    /**
+     * Count the number of holes on the board
+     * @return the total number of holes with at least a block above it
+     */
+    public int getHoleCount()
+    {
+        int count = 0;
+        
+        for (int col = 0; col < columns.length; col++)
+        {
+            count += getHoleCount(col);
+        }
+        
+        return count;
+    }
+    
+    /**
+     * Calculate the bumpiness of the board, the differences in height on the board
+     * @return The sum of the absolute differences between all two side-by-side columns
+     */
+    public int getBumpiness()
+    {
+        int bumpiness = 0;
+        
+        //height of the previous column
+        int previous = getColumnHeight(0);
+        
+        for (int col = 1; col < columns.length; col++)
+        {
+            final int height = getColumnHeight(col);
+            
+            bumpiness += (height > previous) ? (height - previous) : (previous - height);
+            
+            previous = height;
+        }
+        
+        return bumpiness;
+    }
+}
\ No newline at end of file
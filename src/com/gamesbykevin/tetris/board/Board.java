@@ -1,729 +1,924 @@
-package com.gamesbykevin.tetris.board;
-
-import com.gamesbykevin.framework.base.Sprite;
-import com.gamesbykevin.framework.resources.Disposable;
-
-import com.gamesbykevin.tetris.board.piece.*;
-import com.gamesbykevin.tetris.menu.CustomMenu;
-import java.awt.Color;
-
-import java.awt.Graphics;
-import java.awt.Polygon;
-
-/** 
- * This is the board where the tetris pieces will be placed
- * @author GOD
- */
-public final class Board extends Sprite implements Disposable
-{
-    //the table containing the blocks
-    private Block[][] board;
-    
-    //the size of the board
-    public static final int ROWS = 20;
-    public static final int COLS = 10;
-    
-    //the default place to start the piece
-    public static final int START_COL = (COLS / 2);
-    public static final int START_ROW = 0;
-    
-    //area at top where we check to see if a block exists for gameover
-    public static final int START_RANGE = 2;
-    
-    //do we have a complete line
-    private boolean complete = false;
-    
-    //the number of lines completed
-    private int lines = 0;
-    
-    //the background of the board for 2d and isometric
-    private Polygon background2d, backgroundIso1, backgroundIso2, backgroundIso3;
-    
-    //the range for the board outline
-    private static final int ISOMETRIC1_MIN_COL = 0;
-    private static final int ISOMETRIC1_MAX_COL = Board.COLS;
-    private static final int ISOMETRIC1_MIN_ROW = -1;
-    private static final int ISOMETRIC1_MAX_ROW = Board.ROWS - 1;
-    
-    //the range for the board outline
-    private static final int ISOMETRIC2_MIN_COL = 1;
-    private static final int ISOMETRIC2_MAX_COL = Board.COLS + 1;
-    private static final int ISOMETRIC2_MIN_ROW = -2;
-    private static final int ISOMETRIC2_MAX_ROW = Board.ROWS - 3;
-
-    //the range for the board outline
-    private static final double ISOMETRIC3_MIN_COL = .75;
-    private static final double ISOMETRIC3_MAX_COL = Board.COLS + .75;
-    private static final double ISOMETRIC3_MIN_ROW = -1.5;
-    private static final double ISOMETRIC3_MAX_ROW = Board.ROWS - 1.25;
-    
-    public Board()
-    {
-        //create a new board
-        this.board = new Block[ROWS][COLS];
-        
-        //set the size of the board
-        super.setDimensions(COLS * Block.WIDTH, ROWS * Block.HEIGHT);
-        
-        //set the bounds of the board to determine if the location is in bounds
-        super.setBounds(0, COLS - 1, 0, ROWS - 1);
-        
-        //reset the board
-        reset();
-    }
-    
-    /**
-     * Set the number of lines completed
-     * @param lines The total number of lines completed overall
-     */
-    public void setLines(final int lines)
-    {
-        this.lines = lines;
-    }
-    
-    /**
-     * Get the number of lines completed overall
-     * @return The total number of lines completed overall
-     */
-    public int getLines()
-    {
-        return this.lines;
-    }
-    
-    /**
-     * Mark a line completion
-     * @param complete true if all columns in 1 row have existing blocks
-     */
-    public void setComplete(final boolean complete)
-    {
-        this.complete = complete;
-    }
-    
-    /**
-     * Do we have at least 1 completed line
-     * @return true if at least 1 row is complete, false otherwise
-     */
-    public boolean hasComplete()
-    {
-        return this.complete;
-    }
-    
-    /**
-     * Remove all the blocks from the board that have the same id as the piece.<br>
-     * @param piece The piece we want to match
-     */
-    public void removePiece(final Piece piece) throws Exception
-    {
-        for (int col = 0; col < board[0].length; col++)
-        {
-            for (int row = 0; row < board.length; row++)
-            {
-                if (hasBlock(col, row))
-                {
-                    //if the block belongs to the piece, remove it
-                    if (getBlock(col, row).getId() == piece.getId())
-                        setBlock(col, row, null);
-                }
-            }
-        }
-    }
-    
-    /**
-     * Add the piece to the board where there isn't a block.<br>
-     * This is used to add the last piece before a player has game over
-     * @param piece The piece we want to add
-     */
-    public void fillPiece(final Piece piece)
-    {
-        //add each block to the board where we can
-        for (int i = 0; i < piece.getBlocks().size(); i++)
-        {
-            //get the current block
-            Block block = piece.getBlocks().get(i);
-            
-            //calculate location for block
-            int col = (int)(block.getCol() + piece.getCol());
-            int row = (int)(block.getRow() + piece.getRow());
-            
-            //make sure we aren't placing this specific block out of bounds
-            if (hasBounds(col, row))
-            {
-                //also make sure there isn't already a block here
-                if (!hasBlock(col, row))
-                {
-                    //add block at location
-                    setBlock(col, row, block);
-                }
-            }
-        }
-    }
-    
-    /**
-     * Add the piece to the board
-     * @param piece The piece we want to add
-     * @throws Exception If a block already exists in place an exception will be thrown
-     */
-    public void addPiece(final Piece piece) throws Exception
-    {
-        //if a block exists the piece can't be added
-        if (hasBlock(piece))
-            throw new Exception("A block already exists here and the piece can't be placed");
-        
-        //add each block to the board
-        for (int i = 0; i < piece.getBlocks().size(); i++)
-        {
-            //get the current block
-            Block block = piece.getBlocks().get(i);
-            
-            //calculate location for block
-            int col = (int)(block.getCol() + piece.getCol());
-            int row = (int)(block.getRow() + piece.getRow());
-            
-            //make sure we aren't placing this specific block out of bounds
-            if (hasBounds(col, row))
-            {
-                //add block at location
-                setBlock(col, row, block);
-            }
-        }
-    }
-    
-    /**
-     * Is the specified row empty
-     * @param row The row we want to check
-     * @return true if all columns are empty for the given row, false otherwise
-     */
-    public boolean hasEmptyRow(final int row)
-    {
-        for (int col = 0; col < board[0].length; col++)
-        {
-            //if a block exists the row is not empty
-            if (hasBlock(col, row))
-                return false;
-        }
-        
-        //all blocks are empty return true
-        return true;
-    }
-    
-    /**
-     * Drop the blocks of all rows that have blocks but have 0 blocks underneath
-     */
-    public void dropBlocks()
-    {
-        //do we check all rows
-        boolean check = true;
-        
-        while(check)
-        {
-            //no longer check all rows
-            check = false;
-            
-            for (int row = 0; row < board.length - 1; row++)
-            {
-                //if the current row is not empty and the one below it is
-                if (!hasEmptyRow(row) && hasEmptyRow(row + 1))
-                {
-                    //move the blocks in the current row to the row below
-                    dropRow(row);
-                    
-                    //we need to check the rows again
-                    check = true;
-                }
-            }
-        }
-    }
-    
-    /**
-     * Move all blocks in the specified row to the row below
-     * @param row The row containing blocks we want to move south
-     */
-    private void dropRow(final int row)
-    {
-        for (int col = 0; col < board[0].length; col++)
-        {
-            if (hasBlock(col, row))
-            {
-                //move the block to the row below
-                board[row + 1][col] = getBlock(col, row);
-                
-                //remove the previous block
-                board[row][col] = null;
-            }
-        }
-    }
-    
-    /**
-     * Is the specified row complete?
-     * @param row The row we want to check
-     * @return true if every column in this row is a block, false otherwise
-     */
-    public boolean hasCompletedRow(final int row)
-    {
-        for (int col = 0; col < board[0].length; col++)
-        {
-            if (!hasBlock(col, row))
-                return false;
-        }
-        
-        return true;
-    }
-    
-    /**
-     * Get the completer of rows
-     * @return The total number of rows that have a block across all columns
-     */
-    public int getCompletedRowCount()
-    {
-        int count = 0;
-        
-        for (int row = 0; row < board.length; row++)
-        {
-            //if this row has been completed, add to count
-            if (hasCompletedRow(row))
-                count++;
-        }
-        
-        //return the total count
-        return count;
-    }
-    
-    /**
-     * Remove all blocks that are part of a completed row(s).<br>
-     * Will also add the number of completed rows to the total
-     */
-    public void clearCompletedRows() throws Exception
-    {
-        for (int row = 0; row < board.length; row++)
-        {
-            //if this row has been completed, clear it
-            if (hasCompletedRow(row))
-            {
-                //clear the row
-                clearRow(row);
-            }
-        }
-    }
-    
-    /**
-     * Remove all blocks for a given row
-     * @param row The row we want to remove all blocks from
-     * @throws exception
-     */
-    private void clearRow(final int row)
-    {
-        for (int col = 0; col < board[0].length; col++)
-        {
-            //set the location as null
-            setBlock(col, row, null);
-        }
-    }
-    
-    /**
-     * Remove all blocks on the board
-     */
-    public void reset()
-    {
-        //there are no completed lines
-        setComplete(false);
-        
-        //reset lines completed
-        setLines(0);
-        
-        //clear each row
-        for (int row = 0; row < board.length; row++)
-        {
-            clearRow(row);
-        }
-    }
-    
-    /**
-     * Check the board for a completed row and flag if there is at least 1 completed row
-     * @return Will return true if at least 1 line is complete, false otherwise
-     */
-    public boolean markCompletedRow()
-    {
-        for (int row = 0; row < board.length; row++)
-        {
-            //if one row has been completed, set complete true
-            if (hasCompletedRow(row))
-            {
-                //flag complete
-                setComplete(true);
-                
-                //exit
-                return true;
-            }
-        }
-        
-        //no completed rows
-        return false;
-    }
-    
-    /**
-     * Is the piece located within the bounds of the board?<br>
-     * Here we do not check if the piece collides with other pieces
-     * @param piece The piece we want to check
-     * @return true if piece is located within the board bounds, false otherwise
-     */
-    public boolean hasBounds(final Piece piece)
-    {
-        for (int i = 0; i < piece.getBlocks().size(); i++)
-        {
-            //get the current location of this block
-            double col = piece.getBlocks().get(i).getCol() + piece.getCol();
-            double row = piece.getBlocks().get(i).getRow() + piece.getRow();
-            
-            //if this location is not within, then the piece is not in bounds
-            if (!super.hasBounds(col, row))
-                return false;
-        }
-        
-        //no blocks contained in the piece were out of bounds, return true
-        return true;
-    }
-    
-    /**
-     * Assign the block to the board
-     * @param col Column
-     * @param row Row
-     * @param block The block to be placed
-     */
-    private void setBlock(final int col, final int row, final Block block)
-    {
-        this.board[row][col] = block;
-    }
-    
-    private Block getBlock(final int col, final int row)
-    {
-        return this.board[row][col];
-    }
-    
-    /**
-     * Get the column height
-     * @param col column
-     * @return The height of the highest block in the given column, if no blocks exist 0 will be returned
-     */
-    private int getColumnHeight(final int col)
-    {
-        for (int row = 0; row < board.length; row++)
-        {
-            //if there is a block add the height
-            if (hasBlock(col, row))
-            {
-                //return height
-                return (Board.ROWS - row);
-            }
-        }
-        
-        return 0;
-    }
-    
-    /**
-     * Get the height of the highest block in each column
-     * @return The total height of the highest block in all columns
-     */
-    public int getAggregateHeight()
-    {
-        int height = 0;
-        
-        for (int col = 0; col < board[0].length; col++)
-        {
-            //add height to total
-            height += getColumnHeight(col);
-        }
-        
-        //return the total height
-        return height;
-    }
-    
-    /**
-     * Count the number of holes on the board
-     * @return the total number of holes with at least a block above it
-     */
-    public int getHoleCount()
-    {
-        int count = 0;
-        
-        for (int col = 0; col < board[0].length; col++)
-        {
-            //did we hit a block yet
-            boolean hitBlock = false;
-            
-            for (int row = 0; row < board.length; row++)
-            {
-                //if we found a block, flag it
-                if (hasBlock(col, row))
-                {
-                    hitBlock = true;
-                }
-                else
-                {
-                    //if this is not a block and we already found one, then this is a hole
-                    if (hitBlock)
-                        count++;
-                }
-            }
-        }
-        
-        //return the total number of holes
-        return count;
-    }
-    
-    /**
-     * Calculate the bumpiness of the board, the differences in height on the board
-     * @return The sum of the absolute differences between all two side-by-side columns
-     */
-    public int getBumpiness()
-    {
-        int bumpiness = 0;
-        
-        for (int col = 0; col < board[0].length - 1; col++)
-        {
-            //get the height of the 2 neighboring columns
-            final int height1 = getColumnHeight(col);
-            final int height2 = getColumnHeight(col + 1);
-            
-            //calculate bumpiness and add to total
-            if (height1 > height2)
-            {
-                bumpiness += (height1 - height2);
-            }
-            else
-            {
-                bumpiness += (height2 - height1);
-            }
-        }
-        
-        //return bumpiness
-        return bumpiness;
-    }
-    
-    /**
-     * Does a block already occupy this space?
-     * @param piece The piece we want to check
-     * @return true if a block already exists where the piece is located, false otherwise
-     */
-    public boolean hasBlock(final Piece piece)
-    {
-        for (int col = 0; col < board[0].length; col++)
-        {
-            for (int row = 0; row < board.length; row++)
-            {
-                //if a block exists here, and the block is part of the piece
-                if (hasBlock(col, row) && piece.hasBlock(col, row))
-                    return true;
-            }
-        }
-        
-        //no blocks exist here, return false
-        return false;
-    }
-        
-    /**
-     * Does the block exist
-     * @param col column
-     * @param row row
-     * @return true if a block exists at the specified location (col, row), false otherwise
-     */
-    public boolean hasBlock(final int col, final int row)
-    {
-        //if the location is out of bounds we can't have a block
-        if (!hasBounds(col, row))
-            return false;
-        
-        return (getBlock(col, row) != null);
-    }
-    
-    @Override
-    public void dispose()
-    {
-        super.dispose();
-        
-        for (int col = 0; col < board[0].length; col++)
-        {
-            for (int row = 0; row < board.length; row++)
-            {
-                Block block = getBlock(col, row);
-                
-                if (block != null)
-                {
-                    block.dispose();
-                    block = null;
-                }
-            }
-        }
-        
-        board = null;
-        background2d = null;
-        backgroundIso1 = null;
-        backgroundIso2 = null;
-        backgroundIso3 = null;
-    }
-    
-    /**
-     * Assign background coordinates for board outline
-     */
-    public void assignBackground()
-    {
-        if (this.background2d == null)
-            this.background2d = new Polygon();
-        
-        if (this.backgroundIso1 == null)
-            this.backgroundIso1 = new Polygon();
-        
-        if (this.backgroundIso2 == null)
-            this.backgroundIso2 = new Polygon();
-        
-        if (this.backgroundIso3 == null)
-            this.backgroundIso3 = new Polygon();
-        
-            //setup 2d background coordinates
-            this.background2d.reset();
-            this.background2d.addPoint((int)getX(), (int)getY());
-            this.background2d.addPoint((int)(getX() + getWidth()), (int)getY());
-            this.background2d.addPoint((int)(getX() + getWidth()), (int)(getY() + getHeight()));
-            this.background2d.addPoint((int)getX(), (int)(getY() + getHeight()));
-            
-            //setup isometric 1 coordinates
-            this.backgroundIso1.reset();
-            this.backgroundIso1.addPoint((int)(getX() + Block.getIsometric1X(ISOMETRIC1_MIN_COL, ISOMETRIC1_MIN_ROW)), (int)(getY() + Block.getIsometric1Y(ISOMETRIC1_MIN_COL, ISOMETRIC1_MIN_ROW)));
-            this.backgroundIso1.addPoint((int)(getX() + Block.getIsometric1X(ISOMETRIC1_MAX_COL, ISOMETRIC1_MIN_ROW)), (int)(getY() + Block.getIsometric1Y(ISOMETRIC1_MAX_COL, ISOMETRIC1_MIN_ROW)));
-            this.backgroundIso1.addPoint((int)(getX() + Block.getIsometric1X(ISOMETRIC1_MAX_COL, ISOMETRIC1_MAX_ROW)), (int)(getY() + Block.getIsometric1Y(ISOMETRIC1_MAX_COL, ISOMETRIC1_MAX_ROW)));
-            this.backgroundIso1.addPoint((int)(getX() + Block.getIsometric1X(ISOMETRIC1_MIN_COL, ISOMETRIC1_MAX_ROW)), (int)(getY() + Block.getIsometric1Y(ISOMETRIC1_MIN_COL, ISOMETRIC1_MAX_ROW)));
-            
-            //setup isometric 2 coordinates
-            this.backgroundIso2.reset();
-            this.backgroundIso2.addPoint((int)(getX() + Block.getIsometric2X(ISOMETRIC2_MIN_COL)), (int)(getY() + Block.getIsometric2Y(ISOMETRIC2_MIN_COL, ISOMETRIC2_MIN_ROW)));
-            this.backgroundIso2.addPoint((int)(getX() + Block.getIsometric2X(ISOMETRIC2_MAX_COL)), (int)(getY() + Block.getIsometric2Y(ISOMETRIC2_MAX_COL, ISOMETRIC2_MIN_ROW)));
-            this.backgroundIso2.addPoint((int)(getX() + Block.getIsometric2X(ISOMETRIC2_MAX_COL)), (int)(getY() + Block.getIsometric2Y(ISOMETRIC2_MAX_COL, ISOMETRIC2_MAX_ROW)));
-            this.backgroundIso2.addPoint((int)(getX() + Block.getIsometric2X(ISOMETRIC2_MIN_COL)), (int)(getY() + Block.getIsometric2Y(ISOMETRIC2_MIN_COL, ISOMETRIC2_MAX_ROW)));
-            
-            //setup isometric 3 coordinates
-            this.backgroundIso3.reset();
-            this.backgroundIso3.addPoint((int)(getX() + Block.getIsometric3X(ISOMETRIC3_MIN_COL)), (int)(getY() + Block.getIsometric3Y(ISOMETRIC3_MIN_COL, ISOMETRIC3_MIN_ROW)));
-            this.backgroundIso3.addPoint((int)(getX() + Block.getIsometric3X(ISOMETRIC3_MAX_COL)), (int)(getY() + Block.getIsometric3Y(ISOMETRIC3_MAX_COL, ISOMETRIC3_MIN_ROW)));
-            this.backgroundIso3.addPoint((int)(getX() + Block.getIsometric3X(ISOMETRIC3_MAX_COL)), (int)(getY() + Block.getIsometric3Y(ISOMETRIC3_MAX_COL, ISOMETRIC3_MAX_ROW)));
-            this.backgroundIso3.addPoint((int)(getX() + Block.getIsometric3X(ISOMETRIC3_MIN_COL)), (int)(getY() + Block.getIsometric3Y(ISOMETRIC3_MIN_COL, ISOMETRIC3_MAX_ROW)));
-    }
-    
-    /**
-     * Draw the board
-     * @param graphics Object used to draw board
-     * @param renderIndex How do we render the board
-     */
-    public void render(final Graphics graphics, final int renderIndex)
-    {
-        //render the board outline accordingly
-        switch (renderIndex)
-        {
-            case CustomMenu.RENDER_2D:
-                graphics.setColor(Color.BLACK);
-                graphics.fillPolygon(background2d);
-                graphics.setColor(Color.WHITE);
-                graphics.drawPolygon(background2d);
-                break;
-                
-            case CustomMenu.RENDER_ISOMETRIC_1:
-                graphics.setColor(Color.BLACK);
-                graphics.fillPolygon(backgroundIso1);
-                graphics.setColor(Color.WHITE);
-                graphics.drawPolygon(backgroundIso1);
-                break;
-                
-            case CustomMenu.RENDER_ISOMETRIC_2:
-                graphics.setColor(Color.BLACK);
-                graphics.fillPolygon(backgroundIso2);
-                graphics.setColor(Color.WHITE);
-                graphics.drawPolygon(backgroundIso2);
-                break;
-                
-            case CustomMenu.RENDER_ISOMETRIC_3:
-                graphics.setColor(Color.BLACK);
-                graphics.fillPolygon(backgroundIso3);
-                graphics.setColor(Color.WHITE);
-                graphics.drawPolygon(backgroundIso3);
-                break;
-        }
-        
-        //render the board accordingly
-        switch (renderIndex)
-        {
-            case CustomMenu.RENDER_2D:
-                for (int col = 0; col < board[0].length; col++)
-                {
-                    for (int row = 0; row < board.length; row++)
-                    {
-                        //only draw a block if we have one
-                        if (hasBlock(col, row))
-                        {
-                            //calculate coordinates, 2d coordinates.
-                            int x = (int)(getX() + Block.get2dX(col));
-                            int y = (int)(getY() + Block.get2dY(row));
-
-                            //draw block
-                            getBlock(col, row).render(graphics, x, y, renderIndex);
-                        }
-                    }
-                }
-                break;
-                
-            case CustomMenu.RENDER_ISOMETRIC_1:
-                for (int row = 0; row < board.length; row++)
-                {
-                    for (int col = 0; col < board[0].length; col++)
-                    {
-                        //only draw a block if we have one
-                        if (hasBlock(col, row))
-                        {
-                            //calculate coordinates for isometric
-                            int x = (int)(getX() + Block.getIsometric1X(col, row));
-                            int y = (int)(getY() + Block.getIsometric1Y(col, row));
-                            
-                            //draw block
-                            getBlock(col, row).render(graphics, x, y, renderIndex);
-                        }
-                    }
-                }
-                break;
-                
-            case CustomMenu.RENDER_ISOMETRIC_2:
-                for (int col = 0; col < board[0].length; col++)
-                {
-                    for (int row = board.length - 1; row >= 0; row--)
-                    {
-                        //only draw a block if we have one
-                        if (hasBlock(col, row))
-                        {
-                            //calculate coordinates for isometric
-                            int x = (int)(getX() + Block.getIsometric2X(col));
-                            int y = (int)(getY() + Block.getIsometric2Y(col, row));
-                            
-                            //draw block
-                            getBlock(col, row).render(graphics, x, y, renderIndex);
-                        }
-                    }
-                }
-                break;
-                
-            case CustomMenu.RENDER_ISOMETRIC_3:
-                for (int col = 0; col < board[0].length; col++)
-                {
-                    for (int row = board.length - 1; row >= 0; row--)
-                    {
-                        //only draw a block if we have one
-                        if (hasBlock(col, row))
-                        {
-                            //calculate coordinates for isometric
-                            int x = (int)(getX() + Block.getIsometric3X(col));
-                            int y = (int)(getY() + Block.getIsometric3Y(col, row));
-                            
-                            //draw block
-                            getBlock(col, row).render(graphics, x, y, renderIndex);
-                        }
-                    }
-                }
-                break;
-        }
-    }
+package com.gamesbykevin.tetris.board;
+
+import com.gamesbykevin.framework.base.Sprite;
+import com.gamesbykevin.framework.resources.Disposable;
+
+import com.gamesbykevin.tetris.board.piece.*;
+import com.gamesbykevin.tetris.game.IGame;
+import com.gamesbykevin.tetris.game.IGameListener;
+import com.gamesbykevin.tetris.menu.CustomMenu;
+import java.awt.AlphaComposite;
+import java.awt.Color;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Polygon;
+import java.awt.image.BufferedImage;
+
+/** 
+ * This is the board where the tetris pieces will be placed.<br>
+ * The board listens to a game so the blocks drawn always match the blocks in play
+ * @author GOD
+ */
+public final class Board extends Sprite implements Disposable, IGameListener
+{
+    //the table containing the blocks
+    private Block[][] board;
+    
+    //bit representation of the blocks, kept in sync with the table
+    private BitBoard bits;
+    
+    //the size of the board
+    public static final int ROWS = 20;
+    public static final int COLS = 10;
+    
+    //the default place to start the piece
+    public static final int START_COL = (COLS / 2);
+    public static final int START_ROW = 0;
+    
+    //area at top where we check to see if a block exists for gameover
+    public static final int START_RANGE = 2;
+    
+    //do we have a complete line
+    private boolean complete = false;
+    
+    //the number of lines completed
+    private int lines = 0;
+    
+    //the background of the board for 2d and isometric
+    private Polygon background2d, backgroundIso1, backgroundIso2, backgroundIso3;
+    
+    //the range for the board outline
+    private static final int ISOMETRIC1_MIN_COL = 0;
+    private static final int ISOMETRIC1_MAX_COL = Board.COLS;
+    private static final int ISOMETRIC1_MIN_ROW = -1;
+    private static final int ISOMETRIC1_MAX_ROW = Board.ROWS - 1;
+    
+    //the range for the board outline
+    private static final int ISOMETRIC2_MIN_COL = 1;
+    private static final int ISOMETRIC2_MAX_COL = Board.COLS + 1;
+    private static final int ISOMETRIC2_MIN_ROW = -2;
+    private static final int ISOMETRIC2_MAX_ROW = Board.ROWS - 3;
+
+    //the range for the board outline
+    private static final double ISOMETRIC3_MIN_COL = .75;
+    private static final double ISOMETRIC3_MAX_COL = Board.COLS + .75;
+    private static final double ISOMETRIC3_MIN_ROW = -1.5;
+    private static final double ISOMETRIC3_MAX_ROW = Board.ROWS - 1.25;
+    
+    //the number of ways the board can be rendered
+    private static final int LAYERS = CustomMenu.RENDER_ISOMETRIC_3 + 1;
+    
+    //the area covered by the settled blocks for each render, relative to the board location
+    private static final int[] LAYER_X = new int[LAYERS];
+    private static final int[] LAYER_Y = new int[LAYERS];
+    private static final int[] LAYER_WIDTH = new int[LAYERS];
+    private static final int[] LAYER_HEIGHT = new int[LAYERS];
+    
+    //the settled blocks drawn once for each render
+    private BufferedImage[] layers = new BufferedImage[LAYERS];
+    
+    //does the image of the settled blocks need to be drawn again for each render
+    private boolean[] invalid = new boolean[LAYERS];
+    
+    //the locations drawn over the settled blocks while drawing a piece, reused every frame
+    private final int[] overlayCols = new int[(ROWS * COLS) + Shapes.CELLS];
+    private final int[] overlayRows = new int[(ROWS * COLS) + Shapes.CELLS];
+    
+    //the number of locations drawn over the settled blocks
+    private int overlays = 0;
+    
+    static
+    {
+        for (int renderIndex = 0; renderIndex < LAYERS; renderIndex++)
+        {
+            int minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, minY = Integer.MAX_VALUE, maxY = Integer.MIN_VALUE;
+            
+            //find the start coordinates of every cell
+            for (int row = 0; row < ROWS; row++)
+            {
+                for (int col = 0; col < COLS; col++)
+                {
+                    minX = Math.min(minX, getRenderX(col, row, renderIndex));
+                    maxX = Math.max(maxX, getRenderX(col, row, renderIndex));
+                    minY = Math.min(minY, getRenderY(col, row, renderIndex));
+                    maxY = Math.max(maxY, getRenderY(col, row, renderIndex));
+                }
+            }
+            
+            //a block can extend up to 2 block sizes east and north of the start, and 1 block size south, plus the outline
+            LAYER_X[renderIndex] = minX;
+            LAYER_Y[renderIndex] = minY - (2 * Block.ISOMETRIC_HEIGHT);
+            LAYER_WIDTH[renderIndex] = (maxX - minX) + (2 * Block.ISOMETRIC_WIDTH) + 1;
+            LAYER_HEIGHT[renderIndex] = (maxY - minY) + (3 * Block.ISOMETRIC_HEIGHT) + 1;
+        }
+    }
+    
+    public Board()
+    {
+        //create a new board
+        this.board = new Block[ROWS][COLS];
+        
+        //create the bit representation of the board
+        this.bits = new BitBoard();
+        
+        //set the size of the board
+        super.setDimensions(COLS * Block.WIDTH, ROWS * Block.HEIGHT);
+        
+        //set the bounds of the board to determine if the location is in bounds
+        super.setBounds(0, COLS - 1, 0, ROWS - 1);
+        
+        //reset the board
+        reset();
+    }
+    
+    /**
+     * Set the number of lines completed
+     * @param lines The total number of lines completed overall
+     */
+    public void setLines(final int lines)
+    {
+        this.lines = lines;
+    }
+    
+    /**
+     * Get the number of lines completed overall
+     * @return The total number of lines completed overall
+     */
+    public int getLines()
+    {
+        return this.lines;
+    }
+    
+    /**
+     * Mark a line completion
+     * @param complete true if all columns in 1 row have existing blocks
+     */
+    public void setComplete(final boolean complete)
+    {
+        this.complete = complete;
+    }
+    
+    /**
+     * Do we have at least 1 completed line
+     * @return true if at least 1 row is complete, false otherwise
+     */
+    public boolean hasComplete()
+    {
+        return this.complete;
+    }
+    
+    /**
+     * Replace the blocks with the blocks of another board.<br>
+     * This allows a scratch board to be re-used without creating new objects
+     * @param source The board we want to copy
+     */
+    public void copy(final Board source)
+    {
+        //the blocks are shared by every piece of the same type, so only the references are copied
+        for (int row = 0; row < ROWS; row++)
+        {
+            System.arraycopy(source.board[row], 0, board[row], 0, COLS);
+        }
+        
+        bits.copy(source.bits);
+        
+        setComplete(source.hasComplete());
+        setLines(source.getLines());
+        
+        //the settled blocks have changed, so every image needs to be drawn again
+        invalidate();
+    }
+    
+    /**
+     * Add the piece to the board where there isn't a block.<br>
+     * This also adds the last piece before a player has game over, where it may overlap the blocks already placed
+     * @param type The type of piece
+     * @param rotation The rotation ranging from 0 - 3
+     * @param col The column of the piece location
+     * @param row The row of the piece location
+     */
+    private void fillPiece(final int type, final int rotation, final int col, final int row)
+    {
+        //add each block to the board where we can
+        for (int i = 0; i < Shapes.CELLS; i++)
+        {
+            final int cell = Shapes.getCell(type, rotation, i);
+            
+            //calculate location for block
+            final int tmpCol = col + Shapes.getCol(cell);
+            final int tmpRow = row + Shapes.getRow(cell);
+            
+            //make sure we aren't placing this specific block out of bounds
+            if (hasBounds(tmpCol, tmpRow))
+            {
+                //also make sure there isn't already a block here
+                if (!hasBlock(tmpCol, tmpRow))
+                {
+                    //add block at location
+                    setBlock(tmpCol, tmpRow, Piece.getTile(type));
+                }
+            }
+        }
+    }
+    
+    @Override
+    public void onLock(final IGame game, final int type, final int rotation, final int col, final int row)
+    {
+        //add the piece where it was placed
+        fillPiece(type, rotation, col, row);
+        
+        //flag if the piece completed a row
+        setComplete(game.hasComplete());
+    }
+    
+    @Override
+    public void onClear(final IGame game, final int rows)
+    {
+        //remove completed lines
+        clearCompletedRows();
+        
+        //drop above blocks
+        dropBlocks();
+        
+        //update the total lines completed count
+        setLines(game.getLines());
+        
+        //the board no longer has a completed line(s)
+        setComplete(false);
+    }
+    
+    @Override
+    public void onGameover(final IGame game)
+    {
+        //the last piece has already been added
+    }
+    
+    @Override
+    public void onReset(final IGame game)
+    {
+        reset();
+    }
+    
+    /**
+     * Add the piece to the board
+     * @param piece The piece we want to add
+     * @throws Exception If a block already exists in place an exception will be thrown
+     */
+    public void addPiece(final Piece piece) throws Exception
+    {
+        //if a block exists the piece can't be added
+        if (hasBlock(piece))
+            throw new Exception("A block already exists here and the piece can't be placed");
+        
+        //add each block to the board
+        for (int i = 0; i < Shapes.CELLS; i++)
+        {
+            //calculate location for block
+            final int col = piece.getCellCol(i);
+            final int row = piece.getCellRow(i);
+            
+            //make sure we aren't placing this specific block out of bounds
+            if (hasBounds(col, row))
+            {
+                //add block at location
+                setBlock(col, row, piece.getTile());
+            }
+        }
+    }
+    
+    /**
+     * Is the specified row empty
+     * @param row The row we want to check
+     * @return true if all columns are empty for the given row, false otherwise
+     */
+    public boolean hasEmptyRow(final int row)
+    {
+        return bits.isEmpty(row);
+    }
+    
+    /**
+     * Drop the blocks of all rows that have blocks but have 0 blocks underneath
+     */
+    public void dropBlocks()
+    {
+        //do we check all rows
+        boolean check = true;
+        
+        while(check)
+        {
+            //no longer check all rows
+            check = false;
+            
+            for (int row = 0; row < board.length - 1; row++)
+            {
+                //if the current row is not empty and the one below it is
+                if (!hasEmptyRow(row) && hasEmptyRow(row + 1))
+                {
+                    //move the blocks in the current row to the row below
+                    moveRowDown(row);
+                    
+                    //we need to check the rows again
+                    check = true;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Move all blocks in the specified row to the row below
+     * @param row The row containing blocks we want to move south
+     */
+    private void moveRowDown(final int row)
+    {
+        for (int col = 0; col < board[0].length; col++)
+        {
+            if (hasBlock(col, row))
+            {
+                //move the block to the row below
+                setBlock(col, row + 1, getBlock(col, row));
+                
+                //remove the previous block
+                setBlock(col, row, null);
+            }
+        }
+    }
+    
+    /**
+     * Is the specified row complete?
+     * @param row The row we want to check
+     * @return true if every column in this row is a block, false otherwise
+     */
+    public boolean hasCompletedRow(final int row)
+    {
+        return bits.isComplete(row);
+    }
+    
+    /**
+     * Get the completer of rows
+     * @return The total number of rows that have a block across all columns
+     */
+    public int getCompletedRowCount()
+    {
+        return bits.getCompletedRowCount();
+    }
+    
+    /**
+     * Remove all blocks that are part of a completed row(s).<br>
+     * Will also add the number of completed rows to the total
+     */
+    public void clearCompletedRows()
+    {
+        for (int row = 0; row < board.length; row++)
+        {
+            //if this row has been completed, clear it
+            if (hasCompletedRow(row))
+            {
+                //clear the row
+                clearRow(row);
+            }
+        }
+    }
+    
+    /**
+     * Remove all blocks for a given row
+     * @param row The row we want to remove all blocks from
+     * @throws exception
+     */
+    private void clearRow(final int row)
+    {
+        //nothing to clear
+        if (bits.isEmpty(row))
+            return;
+        
+        for (int col = 0; col < board[0].length; col++)
+        {
+            //set the location as null
+            setBlock(col, row, null);
+        }
+    }
+    
+    /**
+     * Remove all blocks on the board
+     */
+    public void reset()
+    {
+        //there are no completed lines
+        setComplete(false);
+        
+        //reset lines completed
+        setLines(0);
+        
+        //clear each row
+        for (int row = 0; row < board.length; row++)
+        {
+            clearRow(row);
+        }
+    }
+    
+    /**
+     * Is the piece located within the bounds of the board?<br>
+     * Here we do not check if the piece collides with other pieces
+     * @param piece The piece we want to check
+     * @return true if piece is located within the board bounds, false otherwise
+     */
+    public boolean hasBounds(final Piece piece)
+    {
+        for (int i = 0; i < Shapes.CELLS; i++)
+        {
+            //if this location is not within, then the piece is not in bounds
+            if (!super.hasBounds(piece.getCellCol(i), piece.getCellRow(i)))
+                return false;
+        }
+        
+        //no blocks contained in the piece were out of bounds, return true
+        return true;
+    }
+    
+    /**
+     * Assign the block to the board
+     * @param col Column
+     * @param row Row
+     * @param block The block to be placed
+     */
+    private void setBlock(final int col, final int row, final Block block)
+    {
+        this.board[row][col] = block;
+        
+        //the settled blocks have changed, so every image needs to be drawn again
+        invalidate();
+        
+        //keep the bit representation in sync
+        if (block != null)
+        {
+            bits.set(col, row);
+        }
+        else
+        {
+            bits.clear(col, row);
+        }
+    }
+    
+    /**
+     * Flag the image of the settled blocks to be drawn again for every render
+     */
+    private void invalidate()
+    {
+        for (int renderIndex = 0; renderIndex < LAYERS; renderIndex++)
+        {
+            invalid[renderIndex] = true;
+        }
+    }
+    
+    private Block getBlock(final int col, final int row)
+    {
+        return this.board[row][col];
+    }
+    
+    /**
+     * Get the bit representation of the board
+     * @return Object containing a mask for every row and column
+     */
+    public BitBoard getBits()
+    {
+        return this.bits;
+    }
+    
+    /**
+     * Get the height of the highest block in each column
+     * @return The total height of the highest block in all columns
+     */
+    public int getAggregateHeight()
+    {
+        return bits.getAggregateHeight();
+    }
+    
+    /**
+     * Count the number of holes on the board
+     * @return the total number of holes with at least a block above it
+     */
+    public int getHoleCount()
+    {
+        return bits.getHoleCount();
+    }
+    
+    /**
+     * Calculate the bumpiness of the board, the differences in height on the board
+     * @return The sum of the absolute differences between all two side-by-side columns
+     */
+    public int getBumpiness()
+    {
+        return bits.getBumpiness();
+    }
+    
+    /**
+     * Would the piece collide if placed at the location?<br>
+     * A piece collides if a cell is outside the walls, below the floor or on an existing block.<br>
+     * Cells above the ceiling are treated as open space
+     * @param type The type of piece
+     * @param rotation The rotation ranging from 0 - 3
+     * @param col The column of the piece location
+     * @param row The row of the piece location
+     * @return true if the piece can't be placed here, false otherwise
+     */
+    public boolean collides(final int type, final int rotation, final int col, final int row)
+    {
+        return bits.collides(type, rotation, col, row);
+    }
+    
+    /**
+     * Does the piece collide at its current location?
+     * @param piece The piece we want to check
+     * @return true if the piece is outside the walls, below the floor or on an existing block, false otherwise
+     * @see #collides(int, int, int, int)
+     */
+    public boolean collides(final Piece piece)
+    {
+        return collides(piece.getType(), piece.getRotation(), (int)piece.getCol(), (int)piece.getRow());
+    }
+    
+    /**
+     * Get the row where the piece will land when dropped straight down from above the blocks.<br>
+     * The piece is expected to be within the walls at this column
+     * @param type The type of piece
+     * @param rotation The rotation ranging from 0 - 3
+     * @param col The column of the piece location
+     * @return The row of the piece location where it lands, cells may be above the ceiling if the columns are full
+     */
+    public int dropRow(final int type, final int rotation, final int col)
+    {
+        return bits.dropRow(type, rotation, col);
+    }
+    
+    /**
+     * Does a block already occupy this space?
+     * @param piece The piece we want to check
+     * @return true if a block already exists where the piece is located, false otherwise
+     */
+    public boolean hasBlock(final Piece piece)
+    {
+        for (int i = 0; i < Shapes.CELLS; i++)
+        {
+            //if a block exists where this block of the piece is
+            if (hasBlock(piece.getCellCol(i), piece.getCellRow(i)))
+                return true;
+        }
+        
+        //no blocks exist here, return false
+        return false;
+    }
+        
+    /**
+     * Does the block exist
+     * @param col column
+     * @param row row
+     * @return true if a block exists at the specified location (col, row), false otherwise
+     */
+    public boolean hasBlock(final int col, final int row)
+    {
+        //if the location is out of bounds we can't have a block
+        if (col < 0 || col >= COLS || row < 0 || row >= ROWS)
+            return false;
+        
+        return bits.has(col, row);
+    }
+    
+    @Override
+    public void dispose()
+    {
+        super.dispose();
+        
+        //the blocks are shared by every piece of the same type, so they are not disposed here
+        board = null;
+        bits = null;
+        background2d = null;
+        backgroundIso1 = null;
+        backgroundIso2 = null;
+        backgroundIso3 = null;
+        
+        if (layers != null)
+        {
+            for (int renderIndex = 0; renderIndex < LAYERS; renderIndex++)
+            {
+                if (layers[renderIndex] != null)
+                {
+                    layers[renderIndex].flush();
+                    layers[renderIndex] = null;
+                }
+            }
+            
+            layers = null;
+        }
+        
+        invalid = null;
+    }
+    
+    /**
+     * Assign background coordinates for board outline
+     */
+    public void assignBackground()
+    {
+        if (this.background2d == null)
+            this.background2d = new Polygon();
+        
+        if (this.backgroundIso1 == null)
+            this.backgroundIso1 = new Polygon();
+        
+        if (this.backgroundIso2 == null)
+            this.backgroundIso2 = new Polygon();
+        
+        if (this.backgroundIso3 == null)
+            this.backgroundIso3 = new Polygon();
+        
+            //setup 2d background coordinates
+            this.background2d.reset();
+            this.background2d.addPoint((int)getX(), (int)getY());
+            this.background2d.addPoint((int)(getX() + getWidth()), (int)getY());
+            this.background2d.addPoint((int)(getX() + getWidth()), (int)(getY() + getHeight()));
+            this.background2d.addPoint((int)getX(), (int)(getY() + getHeight()));
+            
+            //setup isometric 1 coordinates
+            this.backgroundIso1.reset();
+            this.backgroundIso1.addPoint((int)(getX() + Block.getIsometric1X(ISOMETRIC1_MIN_COL, ISOMETRIC1_MIN_ROW)), (int)(getY() + Block.getIsometric1Y(ISOMETRIC1_MIN_COL, ISOMETRIC1_MIN_ROW)));
+            this.backgroundIso1.addPoint((int)(getX() + Block.getIsometric1X(ISOMETRIC1_MAX_COL, ISOMETRIC1_MIN_ROW)), (int)(getY() + Block.getIsometric1Y(ISOMETRIC1_MAX_COL, ISOMETRIC1_MIN_ROW)));
+            this.backgroundIso1.addPoint((int)(getX() + Block.getIsometric1X(ISOMETRIC1_MAX_COL, ISOMETRIC1_MAX_ROW)), (int)(getY() + Block.getIsometric1Y(ISOMETRIC1_MAX_COL, ISOMETRIC1_MAX_ROW)));
+            this.backgroundIso1.addPoint((int)(getX() + Block.getIsometric1X(ISOMETRIC1_MIN_COL, ISOMETRIC1_MAX_ROW)), (int)(getY() + Block.getIsometric1Y(ISOMETRIC1_MIN_COL, ISOMETRIC1_MAX_ROW)));
+            
+            //setup isometric 2 coordinates
+            this.backgroundIso2.reset();
+            this.backgroundIso2.addPoint((int)(getX() + Block.getIsometric2X(ISOMETRIC2_MIN_COL)), (int)(getY() + Block.getIsometric2Y(ISOMETRIC2_MIN_COL, ISOMETRIC2_MIN_ROW)));
+            this.backgroundIso2.addPoint((int)(getX() + Block.getIsometric2X(ISOMETRIC2_MAX_COL)), (int)(getY() + Block.getIsometric2Y(ISOMETRIC2_MAX_COL, ISOMETRIC2_MIN_ROW)));
+            this.backgroundIso2.addPoint((int)(getX() + Block.getIsometric2X(ISOMETRIC2_MAX_COL)), (int)(getY() + Block.getIsometric2Y(ISOMETRIC2_MAX_COL, ISOMETRIC2_MAX_ROW)));
+            this.backgroundIso2.addPoint((int)(getX() + Block.getIsometric2X(ISOMETRIC2_MIN_COL)), (int)(getY() + Block.getIsometric2Y(ISOMETRIC2_MIN_COL, ISOMETRIC2_MAX_ROW)));
+            
+            //setup isometric 3 coordinates
+            this.backgroundIso3.reset();
+            this.backgroundIso3.addPoint((int)(getX() + Block.getIsometric3X(ISOMETRIC3_MIN_COL)), (int)(getY() + Block.getIsometric3Y(ISOMETRIC3_MIN_COL, ISOMETRIC3_MIN_ROW)));
+            this.backgroundIso3.addPoint((int)(getX() + Block.getIsometric3X(ISOMETRIC3_MAX_COL)), (int)(getY() + Block.getIsometric3Y(ISOMETRIC3_MAX_COL, ISOMETRIC3_MIN_ROW)));
+            this.backgroundIso3.addPoint((int)(getX() + Block.getIsometric3X(ISOMETRIC3_MAX_COL)), (int)(getY() + Block.getIsometric3Y(ISOMETRIC3_MAX_COL, ISOMETRIC3_MAX_ROW)));
+            this.backgroundIso3.addPoint((int)(getX() + Block.getIsometric3X(ISOMETRIC3_MIN_COL)), (int)(getY() + Block.getIsometric3Y(ISOMETRIC3_MIN_COL, ISOMETRIC3_MAX_ROW)));
+    }
+    
+    /**
+     * Draw the board
+     * @param graphics Object used to draw board
+     * @param renderIndex How do we render the board
+     */
+    public void render(final Graphics graphics, final int renderIndex)
+    {
+        //render the board outline accordingly
+        switch (renderIndex)
+        {
+            case CustomMenu.RENDER_2D:
+                graphics.setColor(Color.BLACK);
+                graphics.fillPolygon(background2d);
+                graphics.setColor(Color.WHITE);
+                graphics.drawPolygon(background2d);
+                break;
+                
+            case CustomMenu.RENDER_ISOMETRIC_1:
+                graphics.setColor(Color.BLACK);
+                graphics.fillPolygon(backgroundIso1);
+                graphics.setColor(Color.WHITE);
+                graphics.drawPolygon(backgroundIso1);
+                break;
+                
+            case CustomMenu.RENDER_ISOMETRIC_2:
+                graphics.setColor(Color.BLACK);
+                graphics.fillPolygon(backgroundIso2);
+                graphics.setColor(Color.WHITE);
+                graphics.drawPolygon(backgroundIso2);
+                break;
+                
+            case CustomMenu.RENDER_ISOMETRIC_3:
+                graphics.setColor(Color.BLACK);
+                graphics.fillPolygon(backgroundIso3);
+                graphics.setColor(Color.WHITE);
+                graphics.drawPolygon(backgroundIso3);
+                break;
+        }
+        
+        //draw the settled blocks again only if they have changed
+        if (invalid[renderIndex] || layers[renderIndex] == null)
+            renderLayer(renderIndex);
+        
+        //draw the settled blocks
+        graphics.drawImage(layers[renderIndex], (int)getX() + LAYER_X[renderIndex], (int)getY() + LAYER_Y[renderIndex], null);
+    }
+    
+    /**
+     * Draw the board with the piece.<br>
+     * The piece is not added to the board, it is drawn over the settled blocks in the same order as the board
+     * @param graphics Object used to draw board
+     * @param renderIndex How do we render the board
+     * @param piece The piece we want to draw, null to only draw the board
+     */
+    public void render(final Graphics graphics, final int renderIndex, final Piece piece)
+    {
+        //draw the board
+        render(graphics, renderIndex);
+        
+        //draw the piece
+        if (piece != null)
+            renderPiece(graphics, renderIndex, piece);
+    }
+    
+    /**
+     * Draw the piece over the settled blocks.<br>
+     * Any settled block closer than the piece that overlaps something drawn here is drawn again afterwards,
+     * so the result is the same as drawing the piece as part of the board
+     * @param graphics Object used to draw the piece
+     * @param renderIndex How do we render the piece
+     * @param piece The piece we want to draw
+     */
+    private void renderPiece(final Graphics graphics, final int renderIndex, final Piece piece)
+    {
+        //the cells of the piece in the order they are drawn
+        final int[] cells = RenderOrder.getPieceOrder(piece.getType(), piece.getRotation(), renderIndex);
+        
+        //the blocks farther than the first cell are already behind the piece
+        final int depth = RenderOrder.getDepth(piece.getCellCol(cells[0]), piece.getCellRow(cells[0]), renderIndex);
+        
+        //nothing has been drawn over the settled blocks yet
+        overlays = 0;
+        
+        //the next cell of the piece to draw
+        int index = 0;
+        
+        final int[] order = RenderOrder.getBoardOrder(renderIndex);
+        
+        for (int i = 0; i < order.length; i++)
+        {
+            final int col = RenderOrder.getCol(order[i]);
+            final int row = RenderOrder.getRow(order[i]);
+            
+            //this block was drawn before the piece
+            if (RenderOrder.getDepth(col, row, renderIndex) < depth)
+                continue;
+            
+            //draw the cells of the piece that are farther than this location
+            while (index < cells.length && RenderOrder.getDepth(piece.getCellCol(cells[index]), piece.getCellRow(cells[index]), renderIndex) < RenderOrder.getDepth(col, row, renderIndex))
+            {
+                renderOverlay(graphics, piece.getTile(), piece.getCellCol(cells[index]), piece.getCellRow(cells[index]), renderIndex);
+                index++;
+            }
+            
+            //draw the block again if it is in front of something drawn over the settled blocks
+            if (hasBlock(col, row) && hasOverlay(col, row, renderIndex))
+                renderOverlay(graphics, getBlock(col, row), col, row, renderIndex);
+        }
+        
+        //draw the remaining cells
+        for (; index < cells.length; index++)
+        {
+            renderOverlay(graphics, piece.getTile(), piece.getCellCol(cells[index]), piece.getCellRow(cells[index]), renderIndex);
+        }
+    }
+    
+    /**
+     * Draw a block over the settled blocks and remember where it was drawn
+     * @param graphics Object used to draw the block
+     * @param block The block to draw
+     * @param col Column
+     * @param row Row
+     * @param renderIndex How do we render the block
+     */
+    private void renderOverlay(final Graphics graphics, final Block block, final int col, final int row, final int renderIndex)
+    {
+        //the cells above the board are not drawn
+        if (!hasBounds(col, row))
+            return;
+        
+        overlayCols[overlays] = col;
+        overlayRows[overlays] = row;
+        overlays++;
+        
+        block.render(graphics, getX() + getRenderX(col, row, renderIndex), getY() + getRenderY(col, row, renderIndex), renderIndex);
+    }
+    
+    /**
+     * Does the block at the location overlap anything drawn over the settled blocks
+     * @param col Column
+     * @param row Row
+     * @param renderIndex How do we render the board
+     * @return true if the images overlap, false otherwise
+     */
+    private boolean hasOverlay(final int col, final int row, final int renderIndex)
+    {
+        final int x = getRenderX(col, row, renderIndex);
+        final int y = getRenderY(col, row, renderIndex);
+        
+        for (int i = 0; i < overlays; i++)
+        {
+            if (Block.overlaps(x, y, getRenderX(overlayCols[i], overlayRows[i], renderIndex), getRenderY(overlayCols[i], overlayRows[i], renderIndex), renderIndex))
+                return true;
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Draw the settled blocks onto the image for the render.<br>
+     * The image is reused until a block on the board changes
+     * @param renderIndex How do we render the board
+     */
+    private void renderLayer(final int renderIndex)
+    {
+        if (layers[renderIndex] == null)
+            layers[renderIndex] = new BufferedImage(LAYER_WIDTH[renderIndex], LAYER_HEIGHT[renderIndex], BufferedImage.TYPE_INT_ARGB);
+        
+        //get graphics object to write image
+        final Graphics2D g2d = layers[renderIndex].createGraphics();
+        
+        //remove the previous blocks
+        g2d.setComposite(AlphaComposite.Clear);
+        g2d.fillRect(0, 0, LAYER_WIDTH[renderIndex], LAYER_HEIGHT[renderIndex]);
+        g2d.setComposite(AlphaComposite.SrcOver);
+        
+        //the blocks are drawn in an order so the closer blocks overlap the blocks behind them
+        final int[] order = RenderOrder.getBoardOrder(renderIndex);
+        
+        for (int i = 0; i < order.length; i++)
+        {
+            renderBlock(g2d, RenderOrder.getCol(order[i]), RenderOrder.getRow(order[i]), renderIndex);
+        }
+        
+        g2d.dispose();
+        
+        //the image now matches the board
+        invalid[renderIndex] = false;
+    }
+    
+    /**
+     * Draw the block at the location onto the image of the settled blocks
+     * @param graphics Object used to draw the image
+     * @param col Column
+     * @param row Row
+     * @param renderIndex How do we render the board
+     */
+    private void renderBlock(final Graphics graphics, final int col, final int row, final int renderIndex)
+    {
+        //only draw a block if we have one
+        if (!hasBlock(col, row))
+            return;
+        
+        //calculate coordinates relative to the image
+        final int x = getRenderX(col, row, renderIndex) - LAYER_X[renderIndex];
+        final int y = getRenderY(col, row, renderIndex) - LAYER_Y[renderIndex];
+        
+        //draw block
+        getBlock(col, row).render(graphics, x, y, renderIndex);
+    }
+    
+    /**
+     * Calculate the x-coordinate of the location relative to the board
+     * @param col Column
+     * @param row Row
+     * @param renderIndex How do we render the board
+     * @return x-coordinate
+     */
+    private static int getRenderX(final int col, final int row, final int renderIndex)
+    {
+        switch (renderIndex)
+        {
+            case CustomMenu.RENDER_ISOMETRIC_1:
+                return Block.getIsometric1X(col, row);
+                
+            case CustomMenu.RENDER_ISOMETRIC_2:
+                return Block.getIsometric2X(col);
+                
+            case CustomMenu.RENDER_ISOMETRIC_3:
+                return Block.getIsometric3X(col);
+                
+            case CustomMenu.RENDER_2D:
+            default:
+                return Block.get2dX(col);
+        }
+    }
+    
+    /**
+     * Calculate the y-coordinate of the location relative to the board
+     * @param col Column
+     * @param row Row
+     * @param renderIndex How do we render the board
+     * @return y-coordinate
+     */
+    private static int getRenderY(final int col, final int row, final int renderIndex)
+    {
+        switch (renderIndex)
+        {
+            case CustomMenu.RENDER_ISOMETRIC_1:
+                return Block.getIsometric1Y(col, row);
+                
+            case CustomMenu.RENDER_ISOMETRIC_2:
+                return Block.getIsometric2Y(col, row);
+                
+            case CustomMenu.RENDER_ISOMETRIC_3:
+                return Block.getIsometric3Y(col, row);
+                
+            case CustomMenu.RENDER_2D:
+            default:
+                return Block.get2dY(row);
+        }
+    }
 }
\ No newline at end of file
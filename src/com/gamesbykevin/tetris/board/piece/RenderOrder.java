@@ -0,0 +1,166 @@
+package com.gamesbykevin.tetris.board.piece;
+
+import com.gamesbykevin.tetris.board.Board;
+import com.gamesbykevin.tetris.menu.CustomMenu;
+
+/**
+ * Precomputed order the cells are drawn for each render, so the closer cells overlap the cells behind them.<br>
+ * The board and every piece use the same depth, so a piece can be drawn in the same order as the board.<br>
+ * The arrays returned are shared and must not be modified
+ * @author GOD
+ */
+public final class RenderOrder
+{
+    //the number of ways the cells can be rendered
+    private static final int RENDERS = CustomMenu.RENDER_ISOMETRIC_3 + 1;
+    
+    //larger than the distance between any 2 columns or rows, so the secondary value never outweighs the first
+    private static final int SPAN = 64;
+    
+    //the locations of the board in the order they are drawn [render][index]
+    private static final int[][] BOARD_ORDER = new int[RENDERS][Board.ROWS * Board.COLS];
+    
+    //the cell indexes of each piece in the order they are drawn [type][rotation][render][index]
+    private static final int[][][][] PIECE_ORDER;
+    
+    static
+    {
+        PIECE_ORDER = new int[Shapes.getTypeCount()][Piece.TOTAL_ROTATIONS][RENDERS][];
+        
+        for (int renderIndex = 0; renderIndex < RENDERS; renderIndex++)
+        {
+            //every location on the board
+            final int[] cols = new int[Board.ROWS * Board.COLS];
+            final int[] rows = new int[Board.ROWS * Board.COLS];
+            
+            for (int location = 0; location < cols.length; location++)
+            {
+                BOARD_ORDER[renderIndex][location] = location;
+                cols[location] = getCol(location);
+                rows[location] = getRow(location);
+            }
+            
+            sort(BOARD_ORDER[renderIndex], cols, rows, renderIndex);
+            
+            for (int type = 0; type < Shapes.getTypeCount(); type++)
+            {
+                for (int rotation = 0; rotation < Piece.TOTAL_ROTATIONS; rotation++)
+                {
+                    //the offset of every cell of the piece
+                    final int[] order = new int[Shapes.CELLS];
+                    final int[] offsetCols = new int[Shapes.CELLS];
+                    final int[] offsetRows = new int[Shapes.CELLS];
+                    
+                    for (int i = 0; i < Shapes.CELLS; i++)
+                    {
+                        order[i] = i;
+                        offsetCols[i] = Shapes.getCol(Shapes.getCell(type, rotation, i));
+                        offsetRows[i] = Shapes.getRow(Shapes.getCell(type, rotation, i));
+                    }
+                    
+                    sort(order, offsetCols, offsetRows, renderIndex);
+                    
+                    PIECE_ORDER[type][rotation][renderIndex] = order;
+                }
+            }
+        }
+    }
+    
+    private RenderOrder()
+    {
+        //this class only contains static data
+    }
+    
+    /**
+     * Sort the indexes from the farthest to the closest cell, cells at the same depth keep their order
+     * @param order The indexes to sort
+     * @param cols The column of each index
+     * @param rows The row of each index
+     * @param renderIndex How do we render the cells
+     */
+    private static void sort(final int[] order, final int[] cols, final int[] rows, final int renderIndex)
+    {
+        for (int i = 1; i < order.length; i++)
+        {
+            final int index = order[i];
+            final int depth = getDepth(cols[index], rows[index], renderIndex);
+            
+            int j = i - 1;
+            
+            //move the farther cells up
+            while (j >= 0 && getDepth(cols[order[j]], rows[order[j]], renderIndex) > depth)
+            {
+                order[j + 1] = order[j];
+                j--;
+            }
+            
+            order[j + 1] = index;
+        }
+    }
+    
+    /**
+     * Get the depth of the location, the cells are drawn from the smallest to the largest depth
+     * @param col Column
+     * @param row Row
+     * @param renderIndex How do we render the cell
+     * @return The depth of the location
+     */
+    public static int getDepth(final int col, final int row, final int renderIndex)
+    {
+        switch (renderIndex)
+        {
+            case CustomMenu.RENDER_ISOMETRIC_2:
+            case CustomMenu.RENDER_ISOMETRIC_3:
+                //west to east, then south to north
+                return (col * SPAN) - row;
+                
+            case CustomMenu.RENDER_2D:
+            case CustomMenu.RENDER_ISOMETRIC_1:
+            default:
+                //north to south, then west to east
+                return (row * SPAN) + col;
+        }
+    }
+    
+    /**
+     * Get the locations of the board in the order they are drawn
+     * @param renderIndex How do we render the board
+     * @return Every location on the board, use getCol and getRow to get the column and row
+     */
+    public static int[] getBoardOrder(final int renderIndex)
+    {
+        return BOARD_ORDER[renderIndex];
+    }
+    
+    /**
+     * Get the cells of the piece in the order they are drawn
+     * @param type The type of piece
+     * @param rotation The rotation ranging from 0 - 3
+     * @param renderIndex How do we render the piece
+     * @return The cell indexes ranging from 0 - 3
+     */
+    public static int[] getPieceOrder(final int type, final int rotation, final int renderIndex)
+    {
+        return PIECE_ORDER[type][rotation][renderIndex];
+    }
+    
+    /**
+     * Get the column of the board location
+     * @param location The location returned by getBoardOrder
+     * @return Column
+     */
+    public static int getCol(final int location)
+    {
+        return location % Board.COLS;
+    }
+    
+    /**
+     * Get the row of the board location
+     * @param location The location returned by getBoardOrder
+     * @return Row
+     */
+    public static int getRow(final int location)
+    {
+        return location / Board.COLS;
+    }
+}
\ No newline at end of file
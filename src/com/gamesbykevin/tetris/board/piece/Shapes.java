@@ -0,0 +1,278 @@
+package com.gamesbykevin.tetris.board.piece;
+
+/**
+ * Precomputed layout of every piece type in every rotation.<br>
+ * Each cell is packed into a single int containing the column and row offset from the piece location.<br>
+ * The tables are built once and never change, so rotating a piece only changes the rotation index
+ * @author GOD
+ */
+public final class Shapes
+{
+    /**
+     * The number of cells that make up each piece
+     */
+    public static final int CELLS = 4;
+    
+    //offset added to each value so negative offsets can be packed
+    private static final int BIAS = 8;
+    
+    //the number of bits used for each value when packed
+    private static final int BITS = 8;
+    
+    //the mask to extract a single value
+    private static final int MASK = (1 << BITS) - 1;
+    
+    //the packed cells [type][rotation][cell]
+    private static final int[][][] TABLE;
+    
+    //the bounding box [type][rotation]
+    private static final int[][] MIN_COL, MAX_COL, MIN_ROW, MAX_ROW;
+    
+    //the mask of each row relative to the bounding box [type][rotation][row - min row]
+    private static final int[][][] ROW_MASKS;
+    
+    //the largest row offset in each column relative to the bounding box [type][rotation][col - min col]
+    private static final int[][][] BOTTOMS;
+    
+    /**
+     * The cells of each piece before any rotation.<br>
+     * Listed as column, row pairs and ordered by piece type
+     */
+    private static final int[][] DEFINITIONS =
+    {
+        //straight line
+        {0, 0,  1, 0,  2, 0,  3, 0},
+        
+        //L
+        {0, 0,  1, 0,  0, 1,  0, 2},
+        
+        //J
+        {0, 0,  1, 0,  1, 1,  1, 2},
+        
+        //square
+        {0, 0,  1, 0,  1, 1,  0, 1},
+        
+        //S
+        {0, 0,  1, 0,  0, 1, -1, 1},
+        
+        //half-plus
+        {0, 0,  0, 1,  1, 1, -1, 1},
+        
+        //Z
+        {0, 0, -1, 0,  0, 1,  1, 1},
+    };
+    
+    static
+    {
+        final int types = DEFINITIONS.length;
+        
+        TABLE = new int[types][Piece.TOTAL_ROTATIONS][CELLS];
+        MIN_COL = new int[types][Piece.TOTAL_ROTATIONS];
+        MAX_COL = new int[types][Piece.TOTAL_ROTATIONS];
+        MIN_ROW = new int[types][Piece.TOTAL_ROTATIONS];
+        MAX_ROW = new int[types][Piece.TOTAL_ROTATIONS];
+        ROW_MASKS = new int[types][Piece.TOTAL_ROTATIONS][];
+        BOTTOMS = new int[types][Piece.TOTAL_ROTATIONS][];
+        
+        for (int type = 0; type < types; type++)
+        {
+            //the current location of each cell as we rotate
+            final int[] cols = new int[CELLS];
+            final int[] rows = new int[CELLS];
+            
+            for (int i = 0; i < CELLS; i++)
+            {
+                cols[i] = DEFINITIONS[type][i * 2];
+                rows[i] = DEFINITIONS[type][(i * 2) + 1];
+            }
+            
+            for (int rotation = 0; rotation < Piece.TOTAL_ROTATIONS; rotation++)
+            {
+                int minCol = cols[0], maxCol = cols[0], minRow = rows[0], maxRow = rows[0];
+                
+                for (int i = 0; i < CELLS; i++)
+                {
+                    //store the packed cell
+                    TABLE[type][rotation][i] = pack(cols[i], rows[i]);
+                    
+                    //expand the bounding box
+                    minCol = Math.min(minCol, cols[i]);
+                    maxCol = Math.max(maxCol, cols[i]);
+                    minRow = Math.min(minRow, rows[i]);
+                    maxRow = Math.max(maxRow, rows[i]);
+                }
+                
+                MIN_COL[type][rotation] = minCol;
+                MAX_COL[type][rotation] = maxCol;
+                MIN_ROW[type][rotation] = minRow;
+                MAX_ROW[type][rotation] = maxRow;
+                
+                //create the mask for each row
+                ROW_MASKS[type][rotation] = new int[maxRow - minRow + 1];
+                
+                for (int i = 0; i < CELLS; i++)
+                {
+                    ROW_MASKS[type][rotation][rows[i] - minRow] |= (1 << (cols[i] - minCol));
+                }
+                
+                //create the bottom profile for each column
+                BOTTOMS[type][rotation] = new int[maxCol - minCol + 1];
+                
+                for (int col = 0; col < BOTTOMS[type][rotation].length; col++)
+                {
+                    BOTTOMS[type][rotation][col] = minRow;
+                }
+                
+                for (int i = 0; i < CELLS; i++)
+                {
+                    BOTTOMS[type][rotation][cols[i] - minCol] = Math.max(BOTTOMS[type][rotation][cols[i] - minCol], rows[i]);
+                }
+                
+                //rotate each cell 90 degrees clockwise for the next rotation
+                for (int i = 0; i < CELLS; i++)
+                {
+                    final int col = cols[i];
+                    
+                    cols[i] = rows[i];
+                    rows[i] = -col;
+                }
+            }
+        }
+    }
+    
+    private Shapes()
+    {
+        //this class only contains static data
+    }
+    
+    /**
+     * Pack the column, row offset into a single value
+     * @param col Column offset
+     * @param row Row offset
+     * @return The packed cell
+     */
+    private static int pack(final int col, final int row)
+    {
+        return ((row + BIAS) << BITS) | (col + BIAS);
+    }
+    
+    /**
+     * Get the column offset of the packed cell
+     * @param cell The packed cell
+     * @return The column offset from the piece location
+     */
+    public static int getCol(final int cell)
+    {
+        return (cell & MASK) - BIAS;
+    }
+    
+    /**
+     * Get the row offset of the packed cell
+     * @param cell The packed cell
+     * @return The row offset from the piece location
+     */
+    public static int getRow(final int cell)
+    {
+        return ((cell >> BITS) & MASK) - BIAS;
+    }
+    
+    /**
+     * Get a packed cell
+     * @param type The type of piece
+     * @param rotation The rotation ranging from 0 - 3
+     * @param index The cell index ranging from 0 - 3
+     * @return The packed cell containing the column, row offset
+     */
+    public static int getCell(final int type, final int rotation, final int index)
+    {
+        return TABLE[type][rotation][index];
+    }
+    
+    /**
+     * Does this type exist
+     * @param type The type of piece
+     * @return true if the table contains this type, false otherwise
+     */
+    public static boolean hasType(final int type)
+    {
+        return (type >= 0 && type < TABLE.length);
+    }
+    
+    /**
+     * Get the number of piece types
+     * @return The number of types in the table
+     */
+    public static int getTypeCount()
+    {
+        return TABLE.length;
+    }
+    
+    /**
+     * Get the smallest column offset
+     * @param type The type of piece
+     * @param rotation The rotation ranging from 0 - 3
+     * @return The column offset of the west most cell
+     */
+    public static int getMinCol(final int type, final int rotation)
+    {
+        return MIN_COL[type][rotation];
+    }
+    
+    /**
+     * Get the largest column offset
+     * @param type The type of piece
+     * @param rotation The rotation ranging from 0 - 3
+     * @return The column offset of the east most cell
+     */
+    public static int getMaxCol(final int type, final int rotation)
+    {
+        return MAX_COL[type][rotation];
+    }
+    
+    /**
+     * Get the smallest row offset
+     * @param type The type of piece
+     * @param rotation The rotation ranging from 0 - 3
+     * @return The row offset of the north most cell
+     */
+    public static int getMinRow(final int type, final int rotation)
+    {
+        return MIN_ROW[type][rotation];
+    }
+    
+    /**
+     * Get the largest row offset
+     * @param type The type of piece
+     * @param rotation The rotation ranging from 0 - 3
+     * @return The row offset of the south most cell
+     */
+    public static int getMaxRow(final int type, final int rotation)
+    {
+        return MAX_ROW[type][rotation];
+    }
+    
+    /**
+     * Get the mask for a row of the piece.<br>
+     * Bit 0 represents the column of the smallest column offset
+     * @param type The type of piece
+     * @param rotation The rotation ranging from 0 - 3
+     * @param row The row offset from the smallest row offset
+     * @return The mask where bit n is set if the cell exists
+     */
+    public static int getRowMask(final int type, final int rotation, final int row)
+    {
+        return ROW_MASKS[type][rotation][row];
+    }
+    
+    /**
+     * Get the bottom profile of a column of the piece
+     * @param type The type of piece
+     * @param rotation The rotation ranging from 0 - 3
+     * @param col The column offset from the smallest column offset
+     * @return The row offset of the south most cell in the column
+     */
+    public static int getBottom(final int type, final int rotation, final int col)
+    {
+        return BOTTOMS[type][rotation][col];
+    }
+}
\ No newline at end of file
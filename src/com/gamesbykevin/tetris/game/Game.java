@@ -0,0 +1,493 @@
+package com.gamesbykevin.tetris.game;
+
+import com.gamesbykevin.tetris.board.BitBoard;
+import com.gamesbykevin.tetris.board.Board;
+import com.gamesbykevin.tetris.board.piece.Piece;
+import com.gamesbykevin.tetris.board.piece.Shapes;
+import com.gamesbykevin.tetris.shared.Trace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Headless tetris game containing the board, the piece queue, gravity and line clears.<br>
+ * Nothing here depends on the display, audio or a clock, the game only advances when ticked
+ * or when each step is called, so a simulation can run as fast as the CPU allows
+ * @author GOD
+ */
+public final class Game implements IGame
+{
+    /**
+     * The default number of ticks between each piece drop
+     */
+    public static final int DEFAULT_DROP_DELAY = 1;
+    
+    /**
+     * The default number of ticks a completed row is shown before it is removed
+     */
+    public static final int DEFAULT_CLEAR_DELAY = 1;
+    
+    //the blocks on the board
+    private final BitBoard bits;
+    
+    //the objects notified of changes
+    private final List<IGameListener> listeners;
+    
+    //the object used to pick the type of each piece when ticked
+    private Random random;
+    
+    //the current piece
+    private int type = NO_PIECE;
+    private int rotation, col, row;
+    
+    //the next piece
+    private int next = NO_PIECE;
+    
+    //the number of pieces created
+    private int pieceCount = 0;
+    
+    //do we have a completed row
+    private boolean complete = false;
+    
+    //is the game finished (meaning the board crashed)
+    private boolean gameover = false;
+    
+    //the reason the game is finished
+    private int cause = CAUSE_NONE;
+    
+    //the number of lines completed
+    private int lines = 0;
+    
+    //the number of logical ticks
+    private long ticks = 0;
+    
+    //the number of ticks between each piece drop
+    private int dropDelay = DEFAULT_DROP_DELAY;
+    
+    //the number of ticks a completed row is shown
+    private int clearDelay = DEFAULT_CLEAR_DELAY;
+    
+    //the number of ticks counted towards each delay
+    private int dropTicks = 0, clearTicks = 0;
+    
+    /**
+     * Create a new game with an unseeded random piece order
+     */
+    public Game()
+    {
+        this(new Random());
+    }
+    
+    /**
+     * Create a new game
+     * @param random Object used to pick the type of each piece when ticked
+     */
+    public Game(final Random random)
+    {
+        this.random = random;
+        this.bits = new BitBoard();
+        this.listeners = new ArrayList<>();
+    }
+    
+    /**
+     * Set the object used to pick the type of each piece when ticked
+     * @param random The random object, seed it to repeat the same game
+     */
+    public void setRandom(final Random random)
+    {
+        this.random = random;
+    }
+    
+    /**
+     * Set the number of ticks between each piece drop
+     * @param dropDelay The number of ticks, must be at least 1
+     * @throws Exception if the delay is less than 1
+     */
+    public void setDropDelay(final int dropDelay) throws Exception
+    {
+        if (dropDelay < 1)
+            throw new Exception("Drop delay must be at least 1, drop delay = " + dropDelay);
+        
+        this.dropDelay = dropDelay;
+    }
+    
+    /**
+     * Set the number of ticks a completed row is shown before it is removed
+     * @param clearDelay The number of ticks, must be at least 1
+     * @throws Exception if the delay is less than 1
+     */
+    public void setClearDelay(final int clearDelay) throws Exception
+    {
+        if (clearDelay < 1)
+            throw new Exception("Clear delay must be at least 1, clear delay = " + clearDelay);
+        
+        this.clearDelay = clearDelay;
+    }
+    
+    @Override
+    public void addListener(final IGameListener listener)
+    {
+        listeners.add(listener);
+    }
+    
+    @Override
+    public void removeListener(final IGameListener listener)
+    {
+        listeners.remove(listener);
+    }
+    
+    @Override
+    public void reset()
+    {
+        bits.reset();
+        
+        type = NO_PIECE;
+        next = NO_PIECE;
+        pieceCount = 0;
+        complete = false;
+        gameover = false;
+        cause = CAUSE_NONE;
+        lines = 0;
+        ticks = 0;
+        dropTicks = 0;
+        clearTicks = 0;
+        
+        for (int i = 0; i < listeners.size(); i++)
+        {
+            listeners.get(i).onReset(this);
+        }
+    }
+    
+    @Override
+    public void tick()
+    {
+        ticks++;
+        
+        //nothing happens once the game is over
+        if (hasGameover())
+            return;
+        
+        if (!hasPiece() && !hasComplete())
+        {
+            //create a new piece
+            spawn(random.nextInt(Shapes.getTypeCount()));
+        }
+        else if (hasPiece())
+        {
+            //if enough ticks have passed move piece down
+            if (++dropTicks >= dropDelay)
+            {
+                dropTicks = 0;
+                fall();
+            }
+        }
+        else
+        {
+            //if the completed row(s) have been shown long enough, remove them
+            if (++clearTicks >= clearDelay)
+            {
+                clearTicks = 0;
+                clear();
+            }
+        }
+    }
+    
+    @Override
+    public void spawn(final int type)
+    {
+        //if next piece has been created assign as current
+        if (next != NO_PIECE)
+        {
+            this.type = next;
+            this.rotation = 0;
+            this.col = Board.START_COL;
+            this.row = Board.START_ROW;
+            
+            //the piece that entered play, the first call only fills the next piece
+            if (Trace.ENABLED)
+                Trace.record(Trace.SPAWN, this.type);
+        }
+        
+        //create the next piece
+        this.next = type;
+        this.pieceCount++;
+    }
+    
+    @Override
+    public void fall()
+    {
+        if (!hasPiece())
+            return;
+        
+        //move piece south
+        row++;
+        
+        //make sure the piece is not at the very top of the board
+        if (isAboveCeiling())
+            return;
+        
+        //if we are out of bounds or intersecting another block on the board
+        if (bits.collides(type, rotation, col, row))
+        {
+            //move piece back to previous
+            row--;
+            
+            //place the piece here
+            lock();
+        }
+    }
+    
+    @Override
+    public void hardDrop()
+    {
+        if (!hasPiece())
+            return;
+        
+        //the landing row from the surface of each column
+        int landing = bits.dropRow(type, rotation, col);
+        
+        //if the piece is below an overhang, the surface does not apply so step down instead
+        if (landing < row)
+        {
+            landing = row;
+            
+            while (!bits.collides(type, rotation, col, landing + 1))
+            {
+                landing++;
+            }
+        }
+        
+        row = landing;
+        
+        //place the piece here
+        lock();
+    }
+    
+    @Override
+    public boolean moveLeft()
+    {
+        return move(-1);
+    }
+    
+    @Override
+    public boolean moveRight()
+    {
+        return move(1);
+    }
+    
+    /**
+     * Move the current piece
+     * @param offset The number of columns to move, negative is west
+     * @return true if the piece moved, false if it would collide
+     */
+    private boolean move(final int offset)
+    {
+        if (!hasPiece())
+            return false;
+        
+        //if we are out of bounds or intersecting another block on the board we can't move
+        if (bits.collides(type, rotation, col + offset, row))
+            return false;
+        
+        col += offset;
+        return true;
+    }
+    
+    @Override
+    public boolean rotate()
+    {
+        if (!hasPiece())
+            return false;
+        
+        final int tmpRotation = (rotation + 1) % Piece.TOTAL_ROTATIONS;
+        
+        //if we are out of bounds or intersecting another block on the board we can't rotate
+        if (bits.collides(type, tmpRotation, col, row))
+            return false;
+        
+        rotation = tmpRotation;
+        return true;
+    }
+    
+    /**
+     * Is any cell of the current piece above the ceiling
+     * @return true if at least 1 cell has a row less than 0, false otherwise
+     */
+    private boolean isAboveCeiling()
+    {
+        return (row + Shapes.getMinRow(type, rotation) < 0);
+    }
+    
+    /**
+     * Place the current piece on the board where it is.<br>
+     * The game is over if the piece is above the ceiling, on top of another block or blocks the starting area
+     */
+    private void lock()
+    {
+        //was the game already over
+        final boolean finished = hasGameover();
+        
+        //if the piece is still not within bounds the player lost
+        if (isAboveCeiling())
+            setGameover(CAUSE_CEILING);
+        
+        //we are placing a piece over another, it is gameover
+        if (bits.collides(type, rotation, col, row))
+            setGameover(CAUSE_OVERLAP);
+        
+        //add piece to board, only the cells on the board where there isn't a block are filled
+        bits.place(type, rotation, col, row);
+        
+        //check around the start area at top to see if there is gameover
+        for (int i = 0; i <= Board.START_RANGE; i++)
+        {
+            //if there is a block here, it is gameover
+            if (Board.START_COL - i >= 0 && bits.has(Board.START_COL - i, Board.START_ROW))
+                setGameover(CAUSE_START_AREA);
+            if (Board.START_COL + i < Board.COLS && bits.has(Board.START_COL + i, Board.START_ROW))
+                setGameover(CAUSE_START_AREA);
+        }
+        
+        //check and mark for a complete line
+        complete = (bits.getCompletedRowCount() > 0);
+        clearTicks = 0;
+        
+        //remember the piece before it is removed
+        final int tmpType = type;
+        
+        //now remove the piece
+        type = NO_PIECE;
+        dropTicks = 0;
+        
+        if (Trace.ENABLED)
+            Trace.record(Trace.LOCK, tmpType);
+        
+        for (int i = 0; i < listeners.size(); i++)
+        {
+            listeners.get(i).onLock(this, tmpType, rotation, col, row);
+        }
+        
+        if (hasGameover() && !finished)
+        {
+            for (int i = 0; i < listeners.size(); i++)
+            {
+                listeners.get(i).onGameover(this);
+            }
+        }
+    }
+    
+    /**
+     * Flag the game as finished
+     * @param cause The reason the game is finished, only the first reason is kept
+     */
+    private void setGameover(final int cause)
+    {
+        if (!hasGameover())
+            this.cause = cause;
+        
+        this.gameover = true;
+    }
+    
+    @Override
+    public void clear()
+    {
+        if (!hasComplete())
+            return;
+        
+        //remove completed lines and drop above blocks
+        final int count = bits.clearCompletedRows();
+        
+        //add the completed rows towards the total lines completed count
+        lines += count;
+        
+        //the board no longer has a completed line(s)
+        complete = false;
+        
+        if (Trace.ENABLED)
+            Trace.record(Trace.CLEAR, count);
+        
+        for (int i = 0; i < listeners.size(); i++)
+        {
+            listeners.get(i).onClear(this, count);
+        }
+    }
+    
+    @Override
+    public boolean hasPiece()
+    {
+        return (type != NO_PIECE);
+    }
+    
+    @Override
+    public int getPieceType()
+    {
+        return this.type;
+    }
+    
+    @Override
+    public int getNextType()
+    {
+        return this.next;
+    }
+    
+    @Override
+    public int getRotation()
+    {
+        return this.rotation;
+    }
+    
+    @Override
+    public int getCol()
+    {
+        return this.col;
+    }
+    
+    @Override
+    public int getRow()
+    {
+        return this.row;
+    }
+    
+    @Override
+    public int getPieceCount()
+    {
+        return this.pieceCount;
+    }
+    
+    @Override
+    public boolean hasComplete()
+    {
+        return this.complete;
+    }
+    
+    @Override
+    public boolean hasGameover()
+    {
+        return this.gameover;
+    }
+    
+    @Override
+    public int getCause()
+    {
+        return this.cause;
+    }
+    
+    @Override
+    public int getLines()
+    {
+        return this.lines;
+    }
+    
+    @Override
+    public long getTicks()
+    {
+        return this.ticks;
+    }
+    
+    @Override
+    public BitBoard getBits()
+    {
+        return this.bits;
+    }
+}
\ No newline at end of file
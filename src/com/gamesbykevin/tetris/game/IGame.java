@@ -0,0 +1,169 @@
+package com.gamesbykevin.tetris.game;
+
+import com.gamesbykevin.tetris.board.BitBoard;
+
+/**
+ * The rules of a single tetris game, independent of time, audio and rendering.<br>
+ * The game advances when told to, either by a logical tick or by calling each step directly
+ * @author GOD
+ */
+public interface IGame
+{
+    /**
+     * The type used when there is no piece
+     */
+    public static final int NO_PIECE = -1;
+    
+    /**
+     * The reasons a game can be over
+     */
+    public static final int CAUSE_NONE = 0;
+    public static final int CAUSE_CEILING = 1;
+    public static final int CAUSE_OVERLAP = 2;
+    public static final int CAUSE_START_AREA = 3;
+    
+    /**
+     * Remove all blocks and pieces so the game can start again
+     */
+    public void reset();
+    
+    /**
+     * Advance the game by 1 logical tick.<br>
+     * A piece is created when needed, the piece falls once the drop delay has passed
+     * and completed rows are removed once the clear delay has passed
+     */
+    public void tick();
+    
+    /**
+     * Queue a new piece.<br>
+     * The previous next piece becomes the current piece at the starting location
+     * @param type The type of the new next piece
+     */
+    public void spawn(final int type);
+    
+    /**
+     * Move the current piece down 1 row.<br>
+     * If the piece can't move down it is placed on the board
+     */
+    public void fall();
+    
+    /**
+     * Move the current piece straight down as far as it will go and place it on the board
+     */
+    public void hardDrop();
+    
+    /**
+     * Move the current piece 1 column west
+     * @return true if the piece moved, false if it would collide
+     */
+    public boolean moveLeft();
+    
+    /**
+     * Move the current piece 1 column east
+     * @return true if the piece moved, false if it would collide
+     */
+    public boolean moveRight();
+    
+    /**
+     * Rotate the current piece clockwise
+     * @return true if the piece rotated, false if it would collide
+     */
+    public boolean rotate();
+    
+    /**
+     * Remove the completed rows and move the rows above them down
+     */
+    public void clear();
+    
+    /**
+     * Is there a current piece in play
+     * @return true if there is a current piece, false otherwise
+     */
+    public boolean hasPiece();
+    
+    /**
+     * Get the type of the current piece
+     * @return The type of piece, or NO_PIECE if there is no current piece
+     */
+    public int getPieceType();
+    
+    /**
+     * Get the type of the next piece
+     * @return The type of piece, or NO_PIECE if the next piece has not been created
+     */
+    public int getNextType();
+    
+    /**
+     * Get the rotation of the current piece
+     * @return The rotation ranging from 0 - 3
+     */
+    public int getRotation();
+    
+    /**
+     * Get the column of the current piece
+     * @return The column of the piece location
+     */
+    public int getCol();
+    
+    /**
+     * Get the row of the current piece
+     * @return The row of the piece location
+     */
+    public int getRow();
+    
+    /**
+     * Get the number of pieces created
+     * @return The number of times a piece has been queued
+     */
+    public int getPieceCount();
+    
+    /**
+     * Do we have at least 1 completed row waiting to be removed
+     * @return true if at least 1 row is complete, false otherwise
+     */
+    public boolean hasComplete();
+    
+    /**
+     * Is the game over
+     * @return true if the board is filled too high with blocks, false otherwise
+     */
+    public boolean hasGameover();
+    
+    /**
+     * Get the reason the game is over.<br>
+     * If more than 1 reason applies, the first one found is returned
+     * @return CAUSE_CEILING if a piece was placed above the ceiling, CAUSE_OVERLAP if a piece was placed over another block,
+     * CAUSE_START_AREA if a block is in the starting area, or CAUSE_NONE if the game is not over
+     */
+    public int getCause();
+    
+    /**
+     * Get the number of lines completed
+     * @return The total number of rows removed
+     */
+    public int getLines();
+    
+    /**
+     * Get the number of logical ticks
+     * @return The number of times tick has been called since the last reset
+     */
+    public long getTicks();
+    
+    /**
+     * Get the blocks on the board
+     * @return The bit representation of the board
+     */
+    public BitBoard getBits();
+    
+    /**
+     * Add a listener to be notified of changes
+     * @param listener The listener
+     */
+    public void addListener(final IGameListener listener);
+    
+    /**
+     * Remove a listener
+     * @param listener The listener
+     */
+    public void removeListener(final IGameListener listener);
+}
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.gamesbykevin.tetris.game;
+
+/**
+ * Methods notified when the state of a game changes.<br>
+ * Audio and rendering are listeners, so a game can run without either
+ * @author GOD
+ */
+public interface IGameListener
+{
+    /**
+     * The current piece has been placed on the board.<br>
+     * Any completed rows have already been marked when this is called
+     * @param game The game the piece was placed in
+     * @param type The type of piece
+     * @param rotation The rotation ranging from 0 - 3
+     * @param col The column of the piece location
+     * @param row The row of the piece location
+     */
+    public void onLock(final IGame game, final int type, final int rotation, final int col, final int row);
+    
+    /**
+     * The completed rows have been removed and the rows above moved down
+     * @param game The game the rows were removed from
+     * @param rows The number of rows removed
+     */
+    public void onClear(final IGame game, final int rows);
+    
+    /**
+     * The board is filled too high and the game is over
+     * @param game The game that has ended
+     */
+    public void onGameover(final IGame game);
+    
+    /**
+     * The board has been emptied and the game will start again
+     * @param game The game that has been reset
+     */
+    public void onReset(final IGame game);
+}
\ No newline at end of file
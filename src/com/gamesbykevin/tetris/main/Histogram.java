@@ -0,0 +1,147 @@
+package com.gamesbykevin.tetris.main;
+
+/**
+ * Count durations in a fixed number of buckets, so recording never allocates.<br>
+ * Small values each have their own bucket, larger values share a bucket with values within about 3% of each other,
+ * the same way as an HdrHistogram with 2 significant digits.<br>
+ * The largest value is tracked exactly, and values above the highest bucket are counted in the highest bucket
+ * @author GOD
+ */
+public final class Histogram
+{
+    //the number of bits of each value kept, this decides the precision of each bucket
+    private static final int SUB_BUCKET_BITS = 5;
+    
+    //the number of buckets for each power of 2
+    private static final int SUB_BUCKETS = (1 << SUB_BUCKET_BITS);
+    
+    /**
+     * The highest value that has its own bucket (in nanoseconds), about 17 seconds
+     */
+    public static final long HIGHEST_VALUE = (1L << 34) - 1;
+    
+    //the number of times each range of values was recorded
+    private final long[] counts = new long[getIndex(HIGHEST_VALUE) + 1];
+    
+    //the number of values recorded
+    private long count = 0;
+    
+    //the total of the values recorded
+    private long total = 0;
+    
+    //the largest value recorded
+    private long max = 0;
+    
+    /**
+     * Get the bucket of the value
+     * @param value The value, at least 0
+     * @return The index of the bucket
+     */
+    private static int getIndex(final long value)
+    {
+        //the power of 2 above the bits kept
+        final int exponent = Math.max(0, 64 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS + 1));
+        
+        return (exponent << SUB_BUCKET_BITS) + (int)(value >>> exponent);
+    }
+    
+    /**
+     * Get the highest value counted in the bucket
+     * @param index The index of the bucket
+     * @return The highest value
+     */
+    private static long getHighestValue(final int index)
+    {
+        //small values each have their own bucket
+        if (index < 2 * SUB_BUCKETS)
+            return index;
+        
+        final int exponent = (index >> SUB_BUCKET_BITS) - 1;
+        final long mantissa = index - (exponent << SUB_BUCKET_BITS);
+        
+        return ((mantissa + 1) << exponent) - 1;
+    }
+    
+    /**
+     * Record the value
+     * @param value The value, negative values are counted as 0
+     */
+    public void record(final long value)
+    {
+        final long clamped = Math.max(0, value);
+        
+        counts[getIndex(Math.min(clamped, HIGHEST_VALUE))]++;
+        
+        count++;
+        total += clamped;
+        max = Math.max(max, clamped);
+    }
+    
+    /**
+     * Remove all values recorded
+     */
+    public void reset()
+    {
+        for (int i = 0; i < counts.length; i++)
+        {
+            counts[i] = 0;
+        }
+        
+        count = 0;
+        total = 0;
+        max = 0;
+    }
+    
+    /**
+     * Get the number of values recorded
+     * @return The number of values since the last reset
+     */
+    public long getCount()
+    {
+        return this.count;
+    }
+    
+    /**
+     * Get the average value
+     * @return The average, 0 if nothing has been recorded
+     */
+    public long getMean()
+    {
+        return (count == 0) ? 0 : total / count;
+    }
+    
+    /**
+     * Get the largest value
+     * @return The largest value since the last reset
+     */
+    public long getMax()
+    {
+        return this.max;
+    }
+    
+    /**
+     * Get the value at or below which the percentage of values fall
+     * @param percentile The percentile ranging from 0 - 1
+     * @return The highest value in the bucket of the percentile, never more than the largest value, 0 if nothing has been recorded
+     */
+    public long getPercentile(final double percentile)
+    {
+        if (count == 0)
+            return 0;
+        
+        //the number of values at or below the percentile
+        final long target = Math.max(1, (long)Math.ceil(percentile * count));
+        
+        long seen = 0;
+        
+        for (int i = 0; i < counts.length; i++)
+        {
+            seen += counts[i];
+            
+            if (seen >= target)
+                return Math.min(getHighestValue(i), max);
+        }
+        
+        return max;
+    }
+}
\ No newline at end of file
@@ -1,397 +1,808 @@
-package com.gamesbykevin.tetris.main;
-
-import java.awt.*;
-import javax.swing.*;
-
-import com.gamesbykevin.framework.resources.Disposable;
-
-import com.gamesbykevin.tetris.engine.Engine;
-import com.gamesbykevin.tetris.shared.Shared;
-
-public final class Main extends Thread implements Disposable
-{
-    //image where all game/menu elements will be written to
-    private Image bufferedImage;
-    
-    //Graphics object used to draw buffered image
-    private Graphics bufferedImageGraphics;
-    
-    //our dimensions for the original screen window
-    private Rectangle originalSizeWindow;
-    
-    //our dimensions for the full screen window
-    private Rectangle fullSizeWindow;
-    
-    //our dimensions for keeping track of the size of the current window
-    private Rectangle currentWindow;
-    
-    //our main game engine
-    private Engine engine;
-    
-    //how many nanoseconds are there in one millisecond
-    private static final double NANO_SECONDS_PER_MILLISECOND = 1000000.0;
-    
-    //how many nanoseconds are there in one second
-    private static final double NANO_SECONDS_PER_SECOND = 1000000000.0;
-    
-    //need double for accuracy
-    private double nanoSecondsPerUpdate;
-    
-    //reference to our applet
-    private JApplet applet;
-    
-    //reference to our panel
-    private JPanel panel;
-    
-    //cache this graphics object so we aren't constantly creating it
-    private Graphics graphics;
-    
-    public Main(final int ups, final JApplet applet)
-    {
-        this(ups);
-        
-        this.applet = applet;
-    }
-    
-    public Main(final int ups, final JPanel panel)
-    {
-        this(ups);
-        
-        this.panel = panel;
-    }
-    
-    /**
-     * Main class that manages the game engine
-     * 
-     * @param ups Desired updates per second
-     */
-    private Main(final int ups)
-    {
-        //the dimensions used for original/full screen
-        originalSizeWindow = new Rectangle(0, 0, Shared.ORIGINAL_WIDTH, Shared.ORIGINAL_HEIGHT);
-        fullSizeWindow     = new Rectangle(originalSizeWindow);
-
-        //duration of each update in nanoseconds
-        this.nanoSecondsPerUpdate = NANO_SECONDS_PER_SECOND / ups;
-    }
-    
-    /**
-     * Mark objects for garbage collection
-     */
-    @Override
-    public void dispose()
-    {
-        if (bufferedImage != null)
-        {
-            bufferedImage.flush();
-            bufferedImage = null;
-        }
-        
-        if (bufferedImageGraphics != null)
-        {
-            bufferedImageGraphics.dispose();
-            bufferedImageGraphics = null;
-        }
-        
-        if (graphics != null)
-        {
-            graphics.dispose();
-            graphics = null;
-        }
-        
-        if (engine != null)
-        {
-            engine.dispose();
-            engine = null;
-        }
-        
-        if (applet != null)
-        {
-            applet.destroy();
-            applet = null;
-        }
-        
-        if (panel != null)
-        {
-            panel.removeAll();
-            panel = null;
-        }
-        
-        originalSizeWindow = null;
-        fullSizeWindow = null;
-        currentWindow = null;
-    }
-    
-    /**
-     * Create our main game engine and apply input listeners
-     */
-    public void create() throws Exception
-    {
-        engine = new Engine(this);
-        
-        //now that engine is created apply listeners so we can detect key/mouse input
-        if (applet != null)
-        {
-            applet.addKeyListener(engine);
-            applet.addMouseMotionListener(engine);
-            applet.addMouseListener(engine);
-        }
-        else
-        {
-            panel.addKeyListener(engine);
-            panel.addMouseMotionListener(engine);
-            panel.addMouseListener(engine);
-        }
-    }
-    
-    @Override
-    public void run()
-    {
-        //to keep our game loop active
-        boolean active = true;
-        
-        //keep track of the number of updates
-        int updates = 0;
-        
-        //store the time to track ups (updates per second)
-        long previous = System.nanoTime();
-        
-        while (active)
-        {
-            try
-            {
-                //get the current time
-                final long before = System.nanoTime();
-                
-                //update game
-                engine.update(this);
-                
-                //render image
-                renderImage();
-
-                //draw image
-                drawScreen();
-                
-                //keep track of the number of updates
-                updates++;
-                
-                //get the time after processing complete
-                final long after = System.nanoTime();
-                
-                //if we are debugging
-                if (Shared.DEBUG)
-                {
-                    //if 1 second has passed display ups
-                    if (after - previous >= NANO_SECONDS_PER_SECOND)
-                    {
-                        //display updates per second
-                        System.out.println("UPS = " + updates);
-
-                        //reset count
-                        updates = 0;
-
-                        //update the previous time with the current
-                        previous = after;
-                    }
-                }
-                
-                //get the time passed for this update (in nanoseconds)
-                final long passed = (after - before);
-                
-                //get the extra leftover time
-                double remaining = nanoSecondsPerUpdate - passed;
-                
-                //the time remaining can't be negative
-                if (remaining < 0)
-                    remaining = 0;
-                
-                //get the milliseconds to sleep
-                long millis = (long)(remaining / NANO_SECONDS_PER_MILLISECOND);
-                
-                //take the remainder to get the nanoseconds
-                int nanos = (int)(((remaining / NANO_SECONDS_PER_MILLISECOND) - (double)millis) * NANO_SECONDS_PER_MILLISECOND);
-                
-                //sleep thread for the specified amount so each second maintains the same number of updates
-                Thread.sleep(millis, nanos);
-            }
-            catch(Exception e)
-            {
-                //dislay error
-                e.printStackTrace();
-
-                //no longer active thread
-                active = false;
-            }
-        }
-    }
-    
-    public JApplet getApplet()
-    {
-        return applet;
-    }
-    
-    public JPanel getPanel()
-    {
-        return panel;
-    }
-    
-    public Class<?> getContainerClass()
-    {
-        if (applet != null)
-            return applet.getClass();
-        
-        if (panel != null)
-            return panel.getClass();
-        
-        return null;
-    }
-    
-    /**
-     * Create buffered Image
-     */
-    private void createBufferedImage()
-    {
-        if (applet != null)
-        {
-            bufferedImage = applet.createImage(originalSizeWindow.width, originalSizeWindow.height);
-        }
-        else
-        {
-            bufferedImage = panel.createImage(originalSizeWindow.width, originalSizeWindow.height);
-        }
-    }
-    
-    /**
-     * Get the size of the original window
-     * @return Rectangle
-     */
-    public Rectangle getScreen()
-    {
-        return this.originalSizeWindow;
-    }
-    
-    /**
-     * This method will be called whenever the user turns full-screen on/off
-     */
-    public void setFullScreen()
-    {
-        if (applet != null)
-        {
-            fullSizeWindow = new Rectangle(0, 0, applet.getWidth(), applet.getHeight());
-        }
-        else
-        {
-            fullSizeWindow = new Rectangle(0, 0, panel.getWidth(), panel.getHeight());
-        }
-        
-        //set the current window size
-        currentWindow = new Rectangle(fullSizeWindow);
-        
-        //since full screen switched on/off create a new graphics object
-        createGraphicsObject();
-    }
-    
-    /**
-     * Get the number of nanoseconds per each update.
-     * @return long The nanosecond duration per each update which is based on updates per second.
-     */
-    public long getTime()
-    {
-        return (long)nanoSecondsPerUpdate;
-    }
-    
-    /**
-     * Writes all game/menu elements in our 
-     * engine to our single bufferedImage.
-     * 
-     * @throws Exception 
-     */
-    private void renderImage() throws Exception
-    {
-        if (bufferedImage != null)
-        {
-            if (bufferedImageGraphics == null)
-                bufferedImageGraphics = bufferedImage.getGraphics();
-            
-            //background by itself will be a black rectangle
-            bufferedImageGraphics.setColor(Color.BLACK);
-            bufferedImageGraphics.fillRect(0, 0, Shared.ORIGINAL_WIDTH, Shared.ORIGINAL_HEIGHT);
-
-            engine.render(bufferedImageGraphics);
-        }
-        else
-        {
-            //create the image that will be displayed to the user
-            createBufferedImage();
-        }
-    }
-    
-    /**
-     * Does the applet have focus, if this is a JPanel it will always return true
-     * @return boolean
-     */
-    public boolean hasFocus()
-    {
-        if (applet != null)
-        {
-            return applet.hasFocus();
-        }
-        else
-        {
-            //jPanel will always have focus
-            return true;
-        }
-    }
-    
-    /**
-     * Set the graphic object for drawing the rendered image
-     */
-    private void createGraphicsObject()
-    {
-        if (applet != null)
-            graphics = applet.getGraphics();
-        
-        if (panel != null)
-            graphics = panel.getGraphics();
-    }
-    
-    /**
-     * Draw Image onto screen
-     */
-    private void drawScreen()
-    {
-        //if no image has been rendered yet return
-        if (bufferedImage == null)
-            return;
-        
-        //cache graphics object to save resources
-        if (graphics == null)
-            createGraphicsObject();
-        
-        //make sure current window dimensions are set
-        if (currentWindow == null)
-            setFullScreen();
-        
-        try
-        {
-            //the destination will be the size of the window
-            int dx1 = currentWindow.x;
-            int dy1 = currentWindow.y;
-            int dx2 = currentWindow.x + currentWindow.width;
-            int dy2 = currentWindow.y + currentWindow.height;
-
-            //the source will be the entire image
-            int sx1 = 0;
-            int sy1 = 0;
-            int sx2 = bufferedImage.getWidth(null);
-            int sy2 = bufferedImage.getHeight(null);
-            
-            //draw our rendered image at the specified location
-            graphics.drawImage(bufferedImage, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, null);
-        }
-        catch(Exception e)
-        {
-            e.printStackTrace();
-        }
-    }
+package com.gamesbykevin.tetris.main;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.VolatileImage;
+import java.io.File;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import javax.swing.*;
+
+import com.gamesbykevin.framework.resources.Disposable;
+
+import com.gamesbykevin.tetris.engine.Engine;
+import com.gamesbykevin.tetris.shared.Shared;
+import com.gamesbykevin.tetris.shared.Trace;
+
+public final class Main extends Thread implements Disposable
+{
+    //image where all game/menu elements will be written to, kept in video memory when possible
+    private VolatileImage bufferedImage;
+    
+    //Graphics object used to draw buffered image
+    private Graphics bufferedImageGraphics;
+    
+    //our dimensions for the original screen window
+    private Rectangle originalSizeWindow;
+    
+    //our dimensions for the full screen window
+    private Rectangle fullSizeWindow;
+    
+    //our dimensions for keeping track of the size of the current window
+    private Rectangle currentWindow;
+    
+    //do we only scale the image by whole numbers when the window is larger than the original
+    private boolean integerScale = Shared.INTEGER_SCALE;
+    
+    //our main game engine
+    private Engine engine;
+    
+    //how many nanoseconds are there in one second
+    private static final double NANO_SECONDS_PER_SECOND = 1000000000.0;
+    
+    //the most time to wait for the captured frames to be written when the application exits (milliseconds)
+    private static final long RECORDING_TIMEOUT = 5000;
+    
+    //need double for accuracy
+    private double nanoSecondsPerUpdate;
+    
+    //the time between each render (in nanoseconds)
+    private double nanoSecondsPerFrame;
+    
+    //the number of frames rendered per second
+    private int framesPerSecond;
+    
+    //waits until the next update or frame is due
+    private final Pacer pacer = new Pacer();
+    
+    //the duration of each phase of the game loop
+    private final Timings timings = new Timings();
+    
+    //finishes the recording and writes the timings if the application exits without being disposed
+    private Thread dumper;
+    
+    //the most updates performed before a frame is rendered, when the game has fallen behind
+    private int maxUpdatesPerFrame = Shared.DEFAULT_MAX_UPDATES_PER_FRAME;
+    
+    //the most frames in a row that can be skipped when the game has fallen behind, 0 to never skip
+    private int maxFrameSkip = Shared.DEFAULT_MAX_FRAME_SKIP;
+    
+    //reference to our applet
+    private JApplet applet;
+    
+    //reference to our panel
+    private JPanel panel;
+    
+    //cache this graphics object so we aren't constantly creating it
+    private Graphics graphics;
+    
+    //writes the rendered frames, kept once stopped so the frames still waiting can be written before the application exits
+    private volatile Recorder recorder;
+    
+    //image in system memory the frames are rendered to while recording, so the pixels can be copied
+    private BufferedImage captureImage;
+    
+    //Graphics object used to draw the capture image
+    private Graphics captureImageGraphics;
+    
+    //the pixels of the capture image
+    private int[] capturePixels;
+    
+    public Main(final int ups, final JApplet applet)
+    {
+        this(ups);
+        
+        this.applet = applet;
+    }
+    
+    public Main(final int ups, final JPanel panel)
+    {
+        this(ups);
+        
+        this.panel = panel;
+    }
+    
+    /**
+     * Main class that manages the game engine
+     * 
+     * @param ups Desired updates per second
+     */
+    private Main(final int ups)
+    {
+        //the dimensions used for original/full screen
+        originalSizeWindow = new Rectangle(0, 0, Shared.ORIGINAL_WIDTH, Shared.ORIGINAL_HEIGHT);
+        fullSizeWindow     = new Rectangle(originalSizeWindow);
+
+        //duration of each update in nanoseconds
+        this.nanoSecondsPerUpdate = NANO_SECONDS_PER_SECOND / ups;
+        
+        //duration of each frame in nanoseconds
+        setFramesPerSecond(Shared.DEFAULT_FPS);
+    }
+    
+    /**
+     * Set the render rate, independent of the update rate
+     * @param fps Desired frames per second
+     */
+    public final void setFramesPerSecond(final int fps)
+    {
+        this.nanoSecondsPerFrame = NANO_SECONDS_PER_SECOND / fps;
+        this.framesPerSecond = fps;
+    }
+    
+    /**
+     * Start recording the rendered frames, or stop if we are already recording.<br>
+     * Each recording is written to a new location named after the current time
+     * @throws Exception if the recording can't be created
+     */
+    public void toggleRecording() throws Exception
+    {
+        if (isRecording())
+        {
+            //the frames already captured will still be written
+            recorder.stop();
+            
+            if (Shared.DEBUG)
+                System.out.println("Recording stopped = " + recorder.getDestination() + ", frames = " + recorder.getCaptured() + ", dropped = " + recorder.getDropped());
+        }
+        else
+        {
+            //create the image the frames are rendered to
+            if (captureImage == null)
+            {
+                captureImage = new BufferedImage(originalSizeWindow.width, originalSizeWindow.height, BufferedImage.TYPE_INT_RGB);
+                captureImageGraphics = captureImage.getGraphics();
+                capturePixels = ((DataBufferInt)captureImage.getRaster().getDataBuffer()).getData();
+            }
+            
+            final String name = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+            
+            //a directory for the png images, or a single gif
+            final File destination = (Shared.RECORDING_FORMAT.equals(Recorder.FORMAT_GIF)) ?
+                new File(Shared.RECORDING_DIRECTORY, name + "." + Recorder.FORMAT_GIF) : new File(Shared.RECORDING_DIRECTORY, name);
+            
+            recorder = new Recorder(captureImage.getWidth(), captureImage.getHeight(), Shared.RECORDING_BUFFERS, destination, Shared.RECORDING_FORMAT, 1000 / framesPerSecond);
+            recorder.start();
+            
+            if (Shared.DEBUG)
+                System.out.println("Recording started = " + destination);
+        }
+    }
+    
+    /**
+     * Are we recording the rendered frames
+     * @return true if recording, false otherwise
+     */
+    public boolean isRecording()
+    {
+        return (recorder != null && recorder.isRecording());
+    }
+    
+    /**
+     * Stop recording and wait for the frames already captured to be written.<br>
+     * The writer thread does not keep the application running, so a gif would be left incomplete without this
+     */
+    private void finishRecording()
+    {
+        final Recorder tmpRecorder = recorder;
+        
+        if (tmpRecorder == null)
+            return;
+        
+        try
+        {
+            if (!tmpRecorder.stop(RECORDING_TIMEOUT) && Shared.DEBUG)
+                System.out.println("Recording not finished = " + tmpRecorder.getDestination() + ", written = " + tmpRecorder.getWritten() + ", frames = " + tmpRecorder.getCaptured());
+        }
+        catch (InterruptedException e)
+        {
+            e.printStackTrace();
+        }
+    }
+    
+    /**
+     * Get the object that waits between updates and frames
+     * @return The pacer containing the recorded wake-up error
+     */
+    public Pacer getPacer()
+    {
+        return this.pacer;
+    }
+    
+    /**
+     * Get the duration of each phase of the game loop
+     * @return The timings containing a histogram for each phase
+     */
+    public Timings getTimings()
+    {
+        return this.timings;
+    }
+    
+    /**
+     * Write the timings of the game loop to the timings file, and the game events to the trace file if tracing is on
+     */
+    private void dumpTimings()
+    {
+        try
+        {
+            timings.dump(new File(Shared.TIMINGS_FILE));
+            
+            if (Trace.ENABLED)
+                Trace.dump(new File(Shared.TRACE_FILE));
+        }
+        catch (Exception e)
+        {
+            e.printStackTrace();
+        }
+    }
+    
+    /**
+     * Set the most updates performed before a frame is rendered.<br>
+     * If the game falls further behind the remaining time is dropped, so the game slows down instead of freezing
+     * @param maxUpdatesPerFrame The most updates in a row, at least 1
+     */
+    public void setMaxUpdatesPerFrame(final int maxUpdatesPerFrame)
+    {
+        this.maxUpdatesPerFrame = Math.max(1, maxUpdatesPerFrame);
+    }
+    
+    /**
+     * Set the most frames in a row that are not rendered when the game has fallen behind
+     * @param maxFrameSkip The most frames skipped in a row, 0 to always render
+     */
+    public void setMaxFrameSkip(final int maxFrameSkip)
+    {
+        this.maxFrameSkip = Math.max(0, maxFrameSkip);
+    }
+    
+    /**
+     * Mark objects for garbage collection
+     */
+    @Override
+    public void dispose()
+    {
+        //the hook is only added on the desktop
+        if (dumper != null)
+        {
+            try
+            {
+                //the timings are written here instead
+                Runtime.getRuntime().removeShutdownHook(dumper);
+            }
+            catch (IllegalStateException e)
+            {
+                //the application is already exiting, so the hook will finish the recording and write the timings
+            }
+            
+            dumper = null;
+            
+            dumpTimings();
+        }
+        
+        timings.dispose();
+        
+        finishRecording();
+        recorder = null;
+        
+        if (captureImageGraphics != null)
+        {
+            captureImageGraphics.dispose();
+            captureImageGraphics = null;
+        }
+        
+        if (captureImage != null)
+        {
+            captureImage.flush();
+            captureImage = null;
+            capturePixels = null;
+        }
+        
+        if (bufferedImage != null)
+        {
+            bufferedImage.flush();
+            bufferedImage = null;
+        }
+        
+        if (bufferedImageGraphics != null)
+        {
+            bufferedImageGraphics.dispose();
+            bufferedImageGraphics = null;
+        }
+        
+        if (graphics != null)
+        {
+            graphics.dispose();
+            graphics = null;
+        }
+        
+        if (engine != null)
+        {
+            engine.dispose();
+            engine = null;
+        }
+        
+        if (applet != null)
+        {
+            applet.destroy();
+            applet = null;
+        }
+        
+        if (panel != null)
+        {
+            panel.removeAll();
+            panel = null;
+        }
+        
+        originalSizeWindow = null;
+        fullSizeWindow = null;
+        currentWindow = null;
+    }
+    
+    /**
+     * Create our main game engine and apply input listeners
+     */
+    public void create() throws Exception
+    {
+        engine = new Engine(this);
+        
+        //finish the recording and write the timings when the application exits, the desktop window exits without disposing
+        //an unsigned applet is not allowed to add a shutdown hook or write files, so this is only done on the desktop
+        if (applet == null)
+        {
+            dumper = new Thread("Timings")
+            {
+                @Override
+                public void run()
+                {
+                    finishRecording();
+                    dumpTimings();
+                }
+            };
+            
+            Runtime.getRuntime().addShutdownHook(dumper);
+        }
+        
+        //now that engine is created apply listeners so we can detect key/mouse input
+        if (applet != null)
+        {
+            applet.addKeyListener(engine);
+            applet.addMouseMotionListener(engine);
+            applet.addMouseListener(engine);
+        }
+        else
+        {
+            panel.addKeyListener(engine);
+            panel.addMouseMotionListener(engine);
+            panel.addMouseListener(engine);
+        }
+    }
+    
+    @Override
+    public void run()
+    {
+        //to keep our game loop active
+        boolean active = true;
+        
+        //keep track of the number of updates and frames
+        int updates = 0;
+        int frames = 0;
+        
+        //store the time to track ups (updates per second)
+        long previous = System.nanoTime();
+        
+        //the time the last loop started
+        long before = previous;
+        
+        //the time not yet used by an update
+        double lag = 0;
+        
+        //the time until the next frame is rendered
+        double frameLag = 0;
+        
+        //the number of frames in a row that were skipped
+        int skipped = 0;
+        
+        while (active)
+        {
+            try
+            {
+                //get the current time
+                final long now = System.nanoTime();
+                
+                //add the time passed since the last loop
+                lag += (now - before);
+                frameLag -= (now - before);
+                before = now;
+                
+                //the number of updates performed this loop
+                int steps = 0;
+                
+                //update the game once for every update duration that has passed, the game logic always advances by the same amount
+                while (lag >= nanoSecondsPerUpdate && steps < maxUpdatesPerFrame)
+                {
+                    final long updateStart = System.nanoTime();
+                    
+                    //update game
+                    engine.update(this);
+                    
+                    timings.record(Timings.UPDATE, System.nanoTime() - updateStart);
+                    
+                    lag -= nanoSecondsPerUpdate;
+                    steps++;
+                    
+                    //keep track of the number of updates
+                    updates++;
+                }
+                
+                //if we are still behind, drop the remaining time so the game doesn't try to catch up forever
+                final boolean behind = (lag >= nanoSecondsPerUpdate);
+                
+                if (behind)
+                    lag = 0;
+                
+                //is it time to render a frame
+                if (frameLag <= 0)
+                {
+                    if (behind && skipped < maxFrameSkip)
+                    {
+                        //skip rendering so the updates have more time
+                        skipped++;
+                    }
+                    else
+                    {
+                        final long renderStart = System.nanoTime();
+                        
+                        //render image
+                        renderImage();
+
+                        final long drawStart = System.nanoTime();
+                        
+                        //draw image
+                        drawScreen();
+                        
+                        timings.record(Timings.RENDER, drawStart - renderStart);
+                        timings.record(Timings.DRAW, System.nanoTime() - drawStart);
+                        
+                        //keep track of the number of frames
+                        frames++;
+                        skipped = 0;
+                    }
+                    
+                    //schedule the next frame
+                    frameLag += nanoSecondsPerFrame;
+                    
+                    //if more than a frame late, don't render extra frames to catch up
+                    if (frameLag <= 0)
+                        frameLag = nanoSecondsPerFrame;
+                }
+                
+                //get the time after processing complete
+                final long after = System.nanoTime();
+                
+                //if we are debugging
+                if (Shared.DEBUG)
+                {
+                    //if 1 second has passed display ups
+                    if (after - previous >= NANO_SECONDS_PER_SECOND)
+                    {
+                        //display updates and frames per second, and how late the thread woke up
+                        System.out.println("UPS = " + updates + ", FPS = " + frames + 
+                            ", wake-up error avg = " + (pacer.getAverageError() / 1000) + " us, max = " + (pacer.getMaxError() / 1000) + " us");
+
+                        //reset count
+                        updates = 0;
+                        frames = 0;
+                        pacer.reset();
+
+                        //count the next second from the end of this one, so the count doesn't drift
+                        previous += (long)NANO_SECONDS_PER_SECOND;
+                    }
+                }
+                
+                //the time the next update or frame is due, measured from the start of this loop so the error doesn't build up
+                final long deadline = now + (long)Math.min(nanoSecondsPerUpdate - lag, frameLag);
+                
+                final long sleepStart = System.nanoTime();
+                
+                //wait until the next update or frame is due, any overshoot is counted in the next loop
+                pacer.waitUntil(deadline);
+                
+                timings.record(Timings.SLEEP, System.nanoTime() - sleepStart);
+            }
+            catch(Exception e)
+            {
+                //dislay error
+                e.printStackTrace();
+
+                //no longer active thread
+                active = false;
+            }
+        }
+    }
+    
+    public JApplet getApplet()
+    {
+        return applet;
+    }
+    
+    public JPanel getPanel()
+    {
+        return panel;
+    }
+    
+    public Class<?> getContainerClass()
+    {
+        if (applet != null)
+            return applet.getClass();
+        
+        if (panel != null)
+            return panel.getClass();
+        
+        return null;
+    }
+    
+    /**
+     * Create buffered Image
+     */
+    private void createBufferedImage()
+    {
+        if (applet != null)
+        {
+            bufferedImage = applet.createVolatileImage(originalSizeWindow.width, originalSizeWindow.height);
+        }
+        else
+        {
+            bufferedImage = panel.createVolatileImage(originalSizeWindow.width, originalSizeWindow.height);
+        }
+    }
+    
+    /**
+     * Get the configuration of the display we are drawing to
+     * @return GraphicsConfiguration, null if the container is not displayable yet
+     */
+    private GraphicsConfiguration getGraphicsConfiguration()
+    {
+        if (applet != null)
+            return applet.getGraphicsConfiguration();
+        
+        if (panel != null)
+            return panel.getGraphicsConfiguration();
+        
+        return null;
+    }
+    
+    /**
+     * Set if the image is only scaled by whole numbers.<br>
+     * When the window is larger the image is scaled by the largest whole number that fits and centered,
+     * so every pixel is the same size and the copy to the screen stays cheap
+     * @param integerScale true to scale by whole numbers, false to stretch the image to the window
+     */
+    public void setIntegerScale(final boolean integerScale)
+    {
+        this.integerScale = integerScale;
+        
+        //calculate the window again
+        if (currentWindow != null)
+            setFullScreen();
+    }
+    
+    /**
+     * Do we only scale the image by whole numbers
+     * @return true if the image is scaled by whole numbers, false if the image is stretched to the window
+     */
+    public boolean hasIntegerScale()
+    {
+        return this.integerScale;
+    }
+    
+    /**
+     * Get the size of the original window
+     * @return Rectangle
+     */
+    public Rectangle getScreen()
+    {
+        return this.originalSizeWindow;
+    }
+    
+    /**
+     * This method will be called whenever the user turns full-screen on/off
+     */
+    public void setFullScreen()
+    {
+        if (applet != null)
+        {
+            fullSizeWindow = new Rectangle(0, 0, applet.getWidth(), applet.getHeight());
+        }
+        else
+        {
+            fullSizeWindow = new Rectangle(0, 0, panel.getWidth(), panel.getHeight());
+        }
+        
+        //set the current window size
+        currentWindow = new Rectangle(fullSizeWindow);
+        
+        if (hasIntegerScale())
+        {
+            //the largest whole number the original size can be scaled by and still fit
+            final int scale = Math.max(1, Math.min(fullSizeWindow.width / originalSizeWindow.width, fullSizeWindow.height / originalSizeWindow.height));
+            
+            //center the scaled image in the window
+            currentWindow.width = originalSizeWindow.width * scale;
+            currentWindow.height = originalSizeWindow.height * scale;
+            currentWindow.x = (fullSizeWindow.width - currentWindow.width) / 2;
+            currentWindow.y = (fullSizeWindow.height - currentWindow.height) / 2;
+        }
+        
+        //since full screen switched on/off create a new graphics object
+        createGraphicsObject();
+    }
+    
+    /**
+     * Get the number of nanoseconds per each update.
+     * @return long The nanosecond duration per each update which is based on updates per second.
+     */
+    public long getTime()
+    {
+        return (long)nanoSecondsPerUpdate;
+    }
+    
+    /**
+     * Writes all game/menu elements in our 
+     * engine to our single bufferedImage.
+     * 
+     * @throws Exception 
+     */
+    private void renderImage() throws Exception
+    {
+        if (bufferedImage != null)
+        {
+            //make sure the image in video memory can still be used
+            if (bufferedImage.validate(getGraphicsConfiguration()) == VolatileImage.IMAGE_INCOMPATIBLE)
+            {
+                //the display has changed, so the image has to be created again
+                bufferedImage.flush();
+                bufferedImage = null;
+                
+                if (bufferedImageGraphics != null)
+                {
+                    bufferedImageGraphics.dispose();
+                    bufferedImageGraphics = null;
+                }
+                
+                createBufferedImage();
+                
+                //the image can't be created until the container is displayable
+                if (bufferedImage == null)
+                    return;
+            }
+            
+            if (bufferedImageGraphics == null)
+                bufferedImageGraphics = bufferedImage.getGraphics();
+            
+            if (isRecording())
+            {
+                //render to system memory so the pixels can be copied without reading back from video memory
+                captureImageGraphics.setColor(Color.BLACK);
+                captureImageGraphics.fillRect(0, 0, Shared.ORIGINAL_WIDTH, Shared.ORIGINAL_HEIGHT);
+
+                engine.render(captureImageGraphics);
+                
+                //copy the frame, the writing is done on the recorder thread
+                recorder.capture(capturePixels);
+                
+                bufferedImageGraphics.drawImage(captureImage, 0, 0, null);
+            }
+            else
+            {
+                //background by itself will be a black rectangle
+                bufferedImageGraphics.setColor(Color.BLACK);
+                bufferedImageGraphics.fillRect(0, 0, Shared.ORIGINAL_WIDTH, Shared.ORIGINAL_HEIGHT);
+                
+                engine.render(bufferedImageGraphics);
+            }
+            
+            //draw the timings over the game, it is not part of a recording
+            timings.render(bufferedImageGraphics, Shared.ORIGINAL_WIDTH);
+        }
+        else
+        {
+            //create the image that will be displayed to the user
+            createBufferedImage();
+        }
+    }
+    
+    /**
+     * Does the applet have focus, if this is a JPanel it will always return true
+     * @return boolean
+     */
+    public boolean hasFocus()
+    {
+        if (applet != null)
+        {
+            return applet.hasFocus();
+        }
+        else
+        {
+            //jPanel will always have focus
+            return true;
+        }
+    }
+    
+    /**
+     * Set the graphic object for drawing the rendered image
+     */
+    private void createGraphicsObject()
+    {
+        if (applet != null)
+            graphics = applet.getGraphics();
+        
+        if (panel != null)
+            graphics = panel.getGraphics();
+    }
+    
+    /**
+     * Draw Image onto screen
+     */
+    private void drawScreen()
+    {
+        //if no image has been rendered yet return
+        if (bufferedImage == null)
+            return;
+        
+        //cache graphics object to save resources
+        if (graphics == null)
+            createGraphicsObject();
+        
+        //make sure current window dimensions are set
+        if (currentWindow == null)
+            setFullScreen();
+        
+        //the contents were lost after they were rendered, the next update will render them again
+        if (bufferedImage.contentsLost())
+            return;
+        
+        try
+        {
+            //fill the area around the image when it doesn't cover the whole window
+            if (!currentWindow.equals(fullSizeWindow))
+            {
+                graphics.setColor(Color.BLACK);
+                graphics.fillRect(0, 0, fullSizeWindow.width, currentWindow.y);
+                graphics.fillRect(0, currentWindow.y + currentWindow.height, fullSizeWindow.width, fullSizeWindow.height - currentWindow.y - currentWindow.height);
+                graphics.fillRect(0, currentWindow.y, currentWindow.x, currentWindow.height);
+                graphics.fillRect(currentWindow.x + currentWindow.width, currentWindow.y, fullSizeWindow.width - currentWindow.x - currentWindow.width, currentWindow.height);
+            }
+            
+            if (currentWindow.width == bufferedImage.getWidth() && currentWindow.height == bufferedImage.getHeight())
+            {
+                //the window is the same size so no scaling is needed
+                graphics.drawImage(bufferedImage, currentWindow.x, currentWindow.y, null);
+            }
+            else
+            {
+                //the destination will be the size of the window
+                int dx1 = currentWindow.x;
+                int dy1 = currentWindow.y;
+                int dx2 = currentWindow.x + currentWindow.width;
+                int dy2 = currentWindow.y + currentWindow.height;
+
+                //the source will be the entire image
+                int sx1 = 0;
+                int sy1 = 0;
+                int sx2 = bufferedImage.getWidth();
+                int sy2 = bufferedImage.getHeight();
+                
+                //draw our rendered image at the specified location
+                graphics.drawImage(bufferedImage, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, null);
+            }
+            
+            //make sure the image is sent to the display now instead of waiting in a queue
+            Toolkit.getDefaultToolkit().sync();
+        }
+        catch(Exception e)
+        {
+            e.printStackTrace();
+        }
+    }
 }
\ No newline at end of file
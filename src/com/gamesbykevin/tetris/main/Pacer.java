@@ -0,0 +1,136 @@
+package com.gamesbykevin.tetris.main;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Wait until an absolute deadline with little wake-up error.<br>
+ * The thread is parked for most of the wait, then yields for the final stretch since parking can overshoot by milliseconds.<br>
+ * The wake-up error of every wait is recorded so the pacing quality can be checked
+ * @author GOD
+ */
+public final class Pacer
+{
+    /**
+     * The default time before the deadline where we stop parking (in nanoseconds)
+     */
+    public static final long DEFAULT_SPIN_THRESHOLD = 2000000L;
+    
+    //the time before the deadline where we stop parking (in nanoseconds)
+    private long spinThreshold = DEFAULT_SPIN_THRESHOLD;
+    
+    //the number of waits recorded
+    private long count = 0;
+    
+    //the total wake-up error of all waits (in nanoseconds)
+    private long total = 0;
+    
+    //the largest wake-up error (in nanoseconds)
+    private long max = 0;
+    
+    //the wake-up error of the last wait (in nanoseconds)
+    private long last = 0;
+    
+    /**
+     * Set the time before the deadline where we stop parking the thread
+     * @param spinThreshold The time in nanoseconds, 0 to only park
+     */
+    public void setSpinThreshold(final long spinThreshold)
+    {
+        this.spinThreshold = Math.max(0, spinThreshold);
+    }
+    
+    /**
+     * Get the time before the deadline where we stop parking the thread
+     * @return The time in nanoseconds
+     */
+    public long getSpinThreshold()
+    {
+        return this.spinThreshold;
+    }
+    
+    /**
+     * Wait until the deadline.<br>
+     * If the deadline has already passed we return right away
+     * @param deadline The time to wake up, from System.nanoTime()
+     * @return The wake-up error, how long after the deadline we returned (in nanoseconds)
+     */
+    public long waitUntil(final long deadline)
+    {
+        long remaining = deadline - System.nanoTime();
+        
+        //nothing to wait for, this is not counted as a wake-up
+        if (remaining <= 0)
+            return 0;
+        
+        //park for most of the time, parking can return early so check the time again
+        while (remaining > spinThreshold)
+        {
+            LockSupport.parkNanos(remaining - spinThreshold);
+            
+            remaining = deadline - System.nanoTime();
+        }
+        
+        //give up the processor until the deadline
+        while (remaining > 0)
+        {
+            Thread.yield();
+            
+            remaining = deadline - System.nanoTime();
+        }
+        
+        //record the wake-up error
+        last = -remaining;
+        total += last;
+        max = Math.max(max, last);
+        count++;
+        
+        return last;
+    }
+    
+    /**
+     * Reset the recorded wake-up errors
+     */
+    public void reset()
+    {
+        count = 0;
+        total = 0;
+        max = 0;
+        last = 0;
+    }
+    
+    /**
+     * Get the number of waits recorded
+     * @return The number of waits since the last reset
+     */
+    public long getCount()
+    {
+        return this.count;
+    }
+    
+    /**
+     * Get the average wake-up error
+     * @return The average time in nanoseconds, 0 if nothing has been recorded
+     */
+    public long getAverageError()
+    {
+        return (count == 0) ? 0 : total / count;
+    }
+    
+    /**
+     * Get the largest wake-up error
+     * @return The time in nanoseconds since the last reset
+     */
+    public long getMaxError()
+    {
+        return this.max;
+    }
+    
+    /**
+     * Get the wake-up error of the last wait
+     * @return The time in nanoseconds
+     */
+    public long getLastError()
+    {
+        return this.last;
+    }
+}
\ No newline at end of file
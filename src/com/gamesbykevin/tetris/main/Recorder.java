@@ -0,0 +1,446 @@
+package com.gamesbykevin.tetris.main;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Record the rendered frames without slowing down the game loop.<br>
+ * Each frame is copied into a buffer from a fixed pool, and a background thread writes the buffers to disk.<br>
+ * If every buffer is waiting to be written the frame is dropped and counted instead of waiting.<br>
+ * The time each frame was captured is kept, so the gif plays at the speed it was recorded and the png images are numbered
+ * by capture, leaving a gap where a frame was dropped
+ * @author GOD
+ */
+public final class Recorder implements Runnable
+{
+    /**
+     * Write each frame as a separate png image
+     */
+    public static final String FORMAT_PNG = "png";
+    
+    /**
+     * Write every frame to a single animated gif
+     */
+    public static final String FORMAT_GIF = "gif";
+    
+    //how long the writer waits for a frame before checking if the recording has stopped (milliseconds)
+    private static final long POLL_DELAY = 100;
+    
+    //the shortest time a gif frame is displayed (1/100 of a second), viewers show shorter frames for much longer
+    private static final int MIN_GIF_DELAY = 2;
+    
+    //the number of nanoseconds in 1/100 of a second, the unit of the gif frame delay
+    private static final long NANOS_PER_GIF_DELAY = 10000000L;
+    
+    //the size of each frame
+    private final int width, height;
+    
+    //the buffers that can be filled with a frame
+    private final BlockingQueue<Frame> free;
+    
+    //the buffers filled with a frame waiting to be written, in the order they were captured
+    private final BlockingQueue<Frame> filled;
+    
+    //where the frames are written, a directory for png or a file for gif
+    private final File destination;
+    
+    //the format of the recording
+    private final String format;
+    
+    //the time the last frame is displayed in the gif (milliseconds)
+    private final int delay;
+    
+    //are we still accepting frames
+    private volatile boolean recording = false;
+    
+    //the thread writing the frames, read by the thread waiting for the recording to finish
+    private volatile Thread writer;
+    
+    //the number of frames captured, dropped and written
+    private final AtomicLong captured = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    
+    /**
+     * Create a new recorder
+     * @param width The width of each frame
+     * @param height The height of each frame
+     * @param buffers The number of frames that can wait to be written
+     * @param destination The directory for png images, or the file for a gif
+     * @param format FORMAT_PNG or FORMAT_GIF
+     * @param delay The time the last frame is displayed in the gif (milliseconds), the other frames use the time until the next frame
+     * @throws Exception if the format is not setup or the destination can't be created
+     */
+    public Recorder(final int width, final int height, final int buffers, final File destination, final String format, final int delay) throws Exception
+    {
+        if (!format.equals(FORMAT_PNG) && !format.equals(FORMAT_GIF))
+            throw new Exception("Recording format is not setup here = " + format);
+        
+        //create the directory where the frames will be written
+        final File directory = (format.equals(FORMAT_PNG)) ? destination : destination.getAbsoluteFile().getParentFile();
+        
+        if (!directory.isDirectory() && !directory.mkdirs())
+            throw new Exception("Recording directory can't be created = " + directory);
+        
+        this.width = width;
+        this.height = height;
+        this.destination = destination;
+        this.format = format;
+        this.delay = delay;
+        
+        //create every buffer now so capturing never allocates
+        this.free = new ArrayBlockingQueue<>(buffers);
+        this.filled = new ArrayBlockingQueue<>(buffers);
+        
+        for (int i = 0; i < buffers; i++)
+        {
+            free.add(new Frame(width * height));
+        }
+    }
+    
+    /**
+     * Start accepting frames and start the thread writing them
+     */
+    public void start()
+    {
+        if (writer != null)
+            return;
+        
+        recording = true;
+        
+        writer = new Thread(this, "Recorder");
+        writer.setDaemon(true);
+        writer.start();
+    }
+    
+    /**
+     * Stop accepting frames.<br>
+     * The frames already captured are still written, the writer thread ends when finished.<br>
+     * The writer thread does not keep the application running, so use stop(timeout) before exiting
+     */
+    public void stop()
+    {
+        recording = false;
+    }
+    
+    /**
+     * Stop accepting frames and wait for the frames already captured to be written.<br>
+     * A gif is only complete once the writer thread has finished
+     * @param timeout The most time to wait (milliseconds)
+     * @return true if the writer thread has finished, false if we stopped waiting first
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean stop(final long timeout) throws InterruptedException
+    {
+        stop();
+        
+        final Thread thread = writer;
+        
+        //the recording was never started
+        if (thread == null)
+            return true;
+        
+        //a timeout of 0 would wait forever
+        thread.join(Math.max(1, timeout));
+        
+        return !thread.isAlive();
+    }
+    
+    /**
+     * Are we accepting frames
+     * @return true if recording, false otherwise
+     */
+    public boolean isRecording()
+    {
+        return this.recording;
+    }
+    
+    /**
+     * Copy the frame so it can be written.<br>
+     * This never waits, if no buffer is available the frame is dropped
+     * @param pixels The pixels of the frame, the size must match the recorder
+     * @return true if the frame was captured, false if it was dropped or we are not recording
+     */
+    public boolean capture(final int[] pixels)
+    {
+        if (!recording)
+            return false;
+        
+        //every frame offered is numbered, including the dropped frames
+        final long index = captured.get() + dropped.get();
+        
+        final Frame frame = free.poll();
+        
+        //the writer has fallen behind
+        if (frame == null)
+        {
+            dropped.incrementAndGet();
+            return false;
+        }
+        
+        System.arraycopy(pixels, 0, frame.pixels, 0, frame.pixels.length);
+        frame.nanos = System.nanoTime();
+        frame.index = index;
+        
+        //there is always room since the number of buffers is fixed
+        filled.add(frame);
+        
+        captured.incrementAndGet();
+        
+        return true;
+    }
+    
+    /**
+     * Get the number of frames captured
+     * @return The frames copied since the recording started
+     */
+    public long getCaptured()
+    {
+        return captured.get();
+    }
+    
+    /**
+     * Get the number of frames dropped
+     * @return The frames that were not captured because the writer had fallen behind
+     */
+    public long getDropped()
+    {
+        return dropped.get();
+    }
+    
+    /**
+     * Get the number of frames written
+     * @return The frames written to disk
+     */
+    public long getWritten()
+    {
+        return written.get();
+    }
+    
+    /**
+     * Get where the frames are written
+     * @return The directory for png images, or the file for a gif
+     */
+    public File getDestination()
+    {
+        return this.destination;
+    }
+    
+    @Override
+    public void run()
+    {
+        //the image each buffer is copied to before it is written
+        final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        final int[] pixels = ((DataBufferInt)image.getRaster().getDataBuffer()).getData();
+        
+        ImageWriter gif = null;
+        ImageOutputStream output = null;
+        
+        //the gif frame is written once the next frame arrives, so we know how long it is displayed
+        boolean pending = false;
+        
+        //the time the first gif frame was captured, and the time the pending frame is displayed from (1/100 of a second)
+        long first = 0;
+        long shown = 0;
+        
+        try
+        {
+            if (format.equals(FORMAT_GIF))
+            {
+                final Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(FORMAT_GIF);
+                
+                if (!writers.hasNext())
+                    throw new Exception("No gif writer available");
+                
+                gif = writers.next();
+                output = ImageIO.createImageOutputStream(destination);
+                gif.setOutput(output);
+                gif.prepareWriteSequence(null);
+            }
+            
+            //continue until we have stopped and every frame has been written
+            while (recording || !filled.isEmpty())
+            {
+                final Frame frame = filled.poll(POLL_DELAY, TimeUnit.MILLISECONDS);
+                
+                if (frame == null)
+                    continue;
+                
+                final long nanos = frame.nanos;
+                final long index = frame.index;
+                
+                if (gif != null && pending)
+                {
+                    //the time left to display the pending frame until this frame was captured
+                    final long due = ((nanos - first) / NANOS_PER_GIF_DELAY) - shown;
+                    
+                    //if the gif is already ahead of the recording the pending frame is replaced, so the gif keeps the recorded speed
+                    if (due > 0)
+                    {
+                        final int time = (int)Math.max(MIN_GIF_DELAY, due);
+                        
+                        writeGif(gif, image, time);
+                        shown += time;
+                    }
+                }
+                else
+                {
+                    //the time the recording starts
+                    first = nanos;
+                }
+                
+                System.arraycopy(frame.pixels, 0, pixels, 0, pixels.length);
+                
+                //the buffer can be filled again
+                free.add(frame);
+                
+                if (gif != null)
+                {
+                    pending = true;
+                }
+                else
+                {
+                    ImageIO.write(image, FORMAT_PNG, new File(destination, String.format("frame-%06d.png", index)));
+                    written.incrementAndGet();
+                }
+            }
+            
+            if (gif != null)
+            {
+                //the last frame has no next frame, so it is displayed for the time of a single frame
+                if (pending)
+                    writeGif(gif, image, Math.max(MIN_GIF_DELAY, delay / 10));
+                
+                gif.endWriteSequence();
+            }
+        }
+        catch (Exception e)
+        {
+            e.printStackTrace();
+            
+            //nothing else can be written
+            recording = false;
+        }
+        finally
+        {
+            try
+            {
+                if (output != null)
+                    output.close();
+            }
+            catch (Exception e)
+            {
+                e.printStackTrace();
+            }
+            
+            if (gif != null)
+                gif.dispose();
+        }
+    }
+    
+    /**
+     * Write a frame to the gif
+     * @param gif The object writing the gif
+     * @param image The frame
+     * @param time The time the frame is displayed (1/100 of a second)
+     * @throws Exception if the frame can't be written
+     */
+    private void writeGif(final ImageWriter gif, final BufferedImage image, final int time) throws Exception
+    {
+        gif.writeToSequence(new IIOImage(image, null, createMetadata(gif, image, time, written.get() == 0)), null);
+        
+        written.incrementAndGet();
+    }
+    
+    /**
+     * Create the gif information for a frame
+     * @param gif The object writing the gif
+     * @param image The frame
+     * @param time The time the frame is displayed (1/100 of a second)
+     * @param first Is this the first frame, the first frame also tells the gif to loop
+     * @return The gif information
+     * @throws Exception if the information can't be created
+     */
+    private static IIOMetadata createMetadata(final ImageWriter gif, final BufferedImage image, final int time, final boolean first) throws Exception
+    {
+        final IIOMetadata metadata = gif.getDefaultImageMetadata(ImageTypeSpecifier.createFromRenderedImage(image), null);
+        final String name = metadata.getNativeMetadataFormatName();
+        final IIOMetadataNode root = (IIOMetadataNode)metadata.getAsTree(name);
+        
+        //the time the frame is displayed is in 1/100 of a second
+        final IIOMetadataNode control = getNode(root, "GraphicControlExtension");
+        control.setAttribute("disposalMethod", "none");
+        control.setAttribute("userInputFlag", "FALSE");
+        control.setAttribute("transparentColorFlag", "FALSE");
+        control.setAttribute("delayTime", Integer.toString(time));
+        control.setAttribute("transparentColorIndex", "0");
+        
+        if (first)
+        {
+            //loop the gif forever
+            final IIOMetadataNode extension = new IIOMetadataNode("ApplicationExtension");
+            extension.setAttribute("applicationID", "NETSCAPE");
+            extension.setAttribute("authenticationCode", "2.0");
+            extension.setUserObject(new byte[]{1, 0, 0});
+            
+            getNode(root, "ApplicationExtensions").appendChild(extension);
+        }
+        
+        metadata.setFromTree(name, root);
+        
+        return metadata;
+    }
+    
+    /**
+     * Get the child with the name, it is added if it doesn't exist
+     * @param root The parent
+     * @param name The name of the child
+     * @return The child
+     */
+    private static IIOMetadataNode getNode(final IIOMetadataNode root, final String name)
+    {
+        for (int i = 0; i < root.getLength(); i++)
+        {
+            if (root.item(i).getNodeName().equals(name))
+                return (IIOMetadataNode)root.item(i);
+        }
+        
+        final IIOMetadataNode node = new IIOMetadataNode(name);
+        root.appendChild(node);
+        
+        return node;
+    }
+    
+    /**
+     * A buffer from the pool, with the time and number of the frame copied into it
+     */
+    private static final class Frame
+    {
+        //the pixels of the frame
+        private final int[] pixels;
+        
+        //the time the frame was captured (nanoseconds)
+        private long nanos;
+        
+        //the number of the frame since the recording started, including dropped frames
+        private long index;
+        
+        private Frame(final int size)
+        {
+            this.pixels = new int[size];
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,222 @@
+package com.gamesbykevin.tetris.main;
+
+import com.gamesbykevin.tetris.player.GlyphAtlas;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+/**
+ * The duration of each phase of the game loop, recorded in histograms that never allocate.<br>
+ * Every duration is counted since the start, and again for the overlay which shows the most recent second.<br>
+ * The overlay text is drawn from a glyph atlas once per refresh, so showing it costs a single image copy per frame
+ * @author GOD
+ */
+public final class Timings
+{
+    /**
+     * The phases of the game loop
+     */
+    public static final int UPDATE = 0;
+    public static final int RENDER = 1;
+    public static final int DRAW = 2;
+    public static final int SLEEP = 3;
+    
+    //the name of each phase
+    private static final String[] NAMES = {"update", "render", "draw", "sleep"};
+    
+    //how often the overlay is drawn again (nanoseconds)
+    private static final long OVERLAY_REFRESH = 1000000000L;
+    
+    //the layout of the overlay
+    private static final int OVERLAY_WIDTH = 210;
+    private static final int LINE_HEIGHT = 14;
+    private static final int COLUMN_NAME = 4;
+    private static final int COLUMN_P50 = 60;
+    private static final int COLUMN_P99 = 110;
+    private static final int COLUMN_MAX = 160;
+    
+    //the colors of the overlay text
+    private static final Color[] COLORS = {Color.WHITE, Color.YELLOW};
+    
+    //the durations of each phase since the start
+    private final Histogram[] totals = new Histogram[NAMES.length];
+    
+    //the durations of each phase since the overlay was last drawn
+    private final Histogram[] recent = new Histogram[NAMES.length];
+    
+    //is the overlay displayed
+    private boolean visible = false;
+    
+    //the image of the overlay, created the first time it is displayed
+    private BufferedImage overlay;
+    private int[] pixels;
+    private GlyphAtlas atlas;
+    
+    //the time the overlay was last drawn
+    private long refreshed = 0;
+    
+    public Timings()
+    {
+        for (int phase = 0; phase < NAMES.length; phase++)
+        {
+            totals[phase] = new Histogram();
+            recent[phase] = new Histogram();
+        }
+    }
+    
+    /**
+     * Record the duration of a phase
+     * @param phase The phase of the game loop
+     * @param nanos The duration in nanoseconds
+     */
+    public void record(final int phase, final long nanos)
+    {
+        totals[phase].record(nanos);
+        recent[phase].record(nanos);
+    }
+    
+    /**
+     * Get the durations of a phase since the start
+     * @param phase The phase of the game loop
+     * @return The histogram of the durations
+     */
+    public Histogram getHistogram(final int phase)
+    {
+        return totals[phase];
+    }
+    
+    /**
+     * Show the overlay if hidden, or hide it if shown
+     */
+    public void toggle()
+    {
+        setVisible(!isVisible());
+    }
+    
+    /**
+     * Set if the overlay is displayed
+     * @param visible true to display the overlay, false to hide it
+     */
+    public void setVisible(final boolean visible)
+    {
+        this.visible = visible;
+        
+        //draw the overlay right away with the most recent durations
+        this.refreshed = 0;
+    }
+    
+    /**
+     * Is the overlay displayed
+     * @return true if displayed, false otherwise
+     */
+    public boolean isVisible()
+    {
+        return this.visible;
+    }
+    
+    /**
+     * Draw the overlay with p50, p99 and max of each phase, in microseconds
+     */
+    private void refresh()
+    {
+        if (overlay == null)
+        {
+            overlay = new BufferedImage(OVERLAY_WIDTH, (NAMES.length + 1) * LINE_HEIGHT + 4, BufferedImage.TYPE_INT_RGB);
+            pixels = GlyphAtlas.getPixels(overlay);
+            atlas = new GlyphAtlas(new Font("Monospaced", Font.PLAIN, 11), COLORS, Color.BLACK);
+        }
+        
+        Arrays.fill(pixels, Color.BLACK.getRGB());
+        
+        int y = LINE_HEIGHT;
+        
+        atlas.draw(pixels, OVERLAY_WIDTH, "us", COLUMN_NAME, y, Color.YELLOW);
+        atlas.draw(pixels, OVERLAY_WIDTH, "p50", COLUMN_P50, y, Color.YELLOW);
+        atlas.draw(pixels, OVERLAY_WIDTH, "p99", COLUMN_P99, y, Color.YELLOW);
+        atlas.draw(pixels, OVERLAY_WIDTH, "max", COLUMN_MAX, y, Color.YELLOW);
+        
+        for (int phase = 0; phase < NAMES.length; phase++)
+        {
+            y += LINE_HEIGHT;
+            
+            atlas.draw(pixels, OVERLAY_WIDTH, NAMES[phase], COLUMN_NAME, y, Color.WHITE);
+            atlas.draw(pixels, OVERLAY_WIDTH, recent[phase].getPercentile(0.50) / 1000, COLUMN_P50, y, Color.WHITE);
+            atlas.draw(pixels, OVERLAY_WIDTH, recent[phase].getPercentile(0.99) / 1000, COLUMN_P99, y, Color.WHITE);
+            atlas.draw(pixels, OVERLAY_WIDTH, recent[phase].getMax() / 1000, COLUMN_MAX, y, Color.WHITE);
+            
+            //start counting the next period
+            recent[phase].reset();
+        }
+    }
+    
+    /**
+     * Draw the overlay in the top right corner if it is displayed
+     * @param graphics Object used to draw
+     * @param width The width of the area we are drawing on
+     */
+    public void render(final Graphics graphics, final int width)
+    {
+        if (!isVisible())
+            return;
+        
+        final long now = System.nanoTime();
+        
+        //draw the text again once the refresh time has passed
+        if (overlay == null || refreshed == 0 || now - refreshed >= OVERLAY_REFRESH)
+        {
+            refresh();
+            refreshed = now;
+        }
+        
+        graphics.drawImage(overlay, width - OVERLAY_WIDTH, 0, null);
+    }
+    
+    /**
+     * Write the count, mean, p50, p99 and max of each phase since the start, in microseconds
+     * @param file The file we are writing to
+     * @throws Exception if the file can't be written
+     */
+    public void dump(final File file) throws Exception
+    {
+        final PrintWriter writer = new PrintWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"));
+        
+        try
+        {
+            writer.println("phase,count,mean_us,p50_us,p99_us,max_us");
+            
+            for (int phase = 0; phase < NAMES.length; phase++)
+            {
+                final Histogram histogram = totals[phase];
+                
+                writer.println(NAMES[phase] + "," + histogram.getCount() + "," + (histogram.getMean() / 1000) + "," +
+                    (histogram.getPercentile(0.50) / 1000) + "," + (histogram.getPercentile(0.99) / 1000) + "," + (histogram.getMax() / 1000));
+            }
+        }
+        finally
+        {
+            writer.close();
+        }
+    }
+    
+    /**
+     * Release the overlay image
+     */
+    public void dispose()
+    {
+        if (overlay != null)
+        {
+            overlay.flush();
+            overlay = null;
+        }
+        
+        pixels = null;
+        atlas = null;
+    }
+}
\ No newline at end of file
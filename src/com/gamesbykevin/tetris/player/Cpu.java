@@ -1,259 +1,246 @@
-package com.gamesbykevin.tetris.player;
-
-import com.gamesbykevin.framework.resources.Disposable;
-import com.gamesbykevin.tetris.board.Board;
-import com.gamesbykevin.tetris.board.piece.Piece;
-
-import com.gamesbykevin.tetris.engine.Engine;
-
-import java.awt.Graphics;
-
-/**
- * CPU opponent containing AI logic<br>
- * The AI logic was inspired by this article
- * https://codemyroad.wordpress.com/2013/04/14/tetris-ai-the-near-perfect-player/
- * @author GOD
- */
-public final class Cpu extends Player implements Disposable
-{
-    //do he have the destination
-    private boolean destination = false;
-    
-    //the target column we want the ai to move to
-    private int column;
-    
-    //the target number of rotations
-    private int roationCount;
-    
-    //aggregate height score weight
-    private static final double WEIGHT_AGGREGATE_HEIGHT = -0.66569;
-    
-    //completed lines score weight
-    private static final double WEIGHT_COMPLETED_LINES = 0.99275;
-    
-    //holes score weight
-    private static final double WEIGHT_HOLES = -0.46544;
-    
-    //bumpiness score weight
-    private static final double WEIGHT_BUMPINESS = -0.24077;
-    
-    public Cpu(final int modeIndex)
-    {
-        super(modeIndex, "Cpu", false);
-    }
-    
-    @Override
-    public void dispose()
-    {
-        super.dispose();
-    }
-    
-    /**
-     * Set the number of rotations for placing our piece
-     * @param rotations The total number of rotations needed to get to our goal
-     */
-    private void setTargetRotation(final int roationCount)
-    {
-        this.roationCount = roationCount;
-    }
-    
-    /**
-     * Get the number of rotations for placing our piece
-     * @return The total number of rotations needed to get to our goal
-     */
-    private int getTargetRotation()
-    {
-        return this.roationCount;
-    }
-    
-    /**
-     * Set the target column for placing our piece
-     * @param column The column we want to put our piece
-     */
-    private void setTargetColumn(final int column)
-    {
-        this.column = column;
-    }
-    
-    /**
-     * Get the target column for placing our piece
-     * @return The column we want to put our piece
-     */
-    private int getTargetColumn()
-    {
-        return this.column;
-    }
-            
-    /**
-     * Do we have a destination?
-     * @return true if we have the location of the piece we want to place, false otherwise
-     */
-    private boolean hasDestination()
-    {
-        return this.destination;
-    }
-    
-    /**
-     * Set flag if we have a destination
-     * @param destination true if we have found a destination, false otherwise
-     */
-    private void setDestination(final boolean destination)
-    {
-        this.destination = destination;
-    }
-    
-    @Override
-    public void update(final Engine engine) throws Exception
-    {
-        //update common elements
-        super.updateBasic(engine);
-
-        //make sure there is a current piece in play
-        if (getPiece() != null)
-        {
-            //do we have the destination for the current piece
-            if (!hasDestination())
-            {
-                //locate the best position
-                calculateDestination();
-            }
-            else
-            {
-                //if we are not at our target rotation yet
-                if (getPiece().getRotation() != getTargetRotation())
-                {
-                    //rotate piece
-                    rotate();
-                }
-                else if (getPiece().getCol() < getTargetColumn())
-                {
-                    //if we are short of our destination move east
-                    getPiece().increaseCol();
-                }
-                else if (getPiece().getCol() > getTargetColumn())
-                {
-                    //if we are past our destination move west
-                    getPiece().decreaseCol();
-                }
-                else
-                {
-                    //the piece will drop here, don't need to do anything
-                }
-            }
-        }
-        else
-        {
-            //if there is no current piece, we will need to calculate a new destination when we get one
-            setDestination(false);
-        }
-    }
-    
-    /**
-     * Here we determine the best place to put the tetris piece.<br>
-     * We will implement a scoring algorithm.<br>
-     * This will locate the position with the highest score as our destination
-     */
-    private void calculateDestination() throws Exception
-    {
-        //get current location
-        double originalCol = getPiece().getCol();
-        double originalRow = getPiece().getRow();
-                
-        //store the score to beat
-        double score = 0;
-        
-        //in cases the score may be below 0 make sure we at least assign for the first score
-        boolean initialScore = true;
-        
-        //check each rotation
-        for (int count = 0; count < Piece.TOTAL_ROTATIONS; count++)
-        {
-            //rotate piece clockwise each time
-            getPiece().rotateClockwise();
-            
-            //check each location
-            for (int col = 0; col < Board.COLS; col++)
-            {
-                for (int row = 0; row < Board.ROWS; row++)
-                {
-                    //set the starting point
-                    getPiece().setCol(col);
-                    getPiece().setRow(row);
-                    
-                    //if the piece is not in bounds here, continue
-                    if (!getBoard().hasBounds(getPiece()))
-                        continue;
-                    
-                    //check until we hit floor or another block
-                    if (getPiece().hasFloor() || getBoard().hasBlock(getPiece()))
-                    {
-                        //if we hit a block move up 1 row
-                        if (getBoard().hasBlock(getPiece()))
-                            getPiece().decreaseRow();
-                        
-                        //if we still don't have bounds, continue
-                        if (!getBoard().hasBounds(getPiece()))
-                            continue;
-                        
-                        //if a block already exists at the location of the place
-                        if (getBoard().hasBlock(getPiece()))
-                            continue;
-                        
-                        //add piece to board
-                        getBoard().addPiece(getPiece());
-                        
-                        //what is the score for placing the piece here
-                        double tmpScore = 0;
-                        
-                        //calculate/add aggregate height score
-                        tmpScore += (WEIGHT_AGGREGATE_HEIGHT * getBoard().getAggregateHeight());
-                        
-                        //calculate/add completed row(s) score
-                        tmpScore += (WEIGHT_COMPLETED_LINES * getBoard().getCompletedRowCount());
-                        
-                        //calculate/add hole count score
-                        tmpScore += (WEIGHT_HOLES * getBoard().getHoleCount());
-                        
-                        //calculate/add bumpiness score
-                        tmpScore += (WEIGHT_BUMPINESS * getBoard().getBumpiness());
-
-                        //if this score is better than our high score, or we need to set the score to beat
-                        if (tmpScore > score || initialScore)
-                        {
-                            //we now have the initial score set
-                            initialScore = false;
-                            
-                            //set the new high score
-                            score = tmpScore;
-                            
-                            //set our target rotation
-                            setTargetRotation(getPiece().getRotation());
-                            
-                            //set the column we want to place the piece
-                            setTargetColumn(col);
-                        }
-                        
-                        //now that we are done scoring we can remove the piece from the board
-                        getBoard().removePiece(getPiece());
-                        
-                        //no need to check any further rows, exit loop to check the next column
-                        break;
-                    }
-                }
-            }
-        }
-        
-        //now restore location back
-        getPiece().setCol(originalCol);
-        getPiece().setRow(originalRow);
-        
-        //flag that we have a destination
-        setDestination(true);
-    }
-    
-    @Override
-    public void render(final Graphics graphics)
-    {
-        super.render(graphics);
-    }
+package com.gamesbykevin.tetris.player;
+
+import com.gamesbykevin.framework.resources.Disposable;
+import com.gamesbykevin.tetris.ai.Placement;
+import com.gamesbykevin.tetris.ai.Search;
+import com.gamesbykevin.tetris.ai.TranspositionTable;
+
+import com.gamesbykevin.tetris.engine.Engine;
+import com.gamesbykevin.tetris.shared.Shared;
+
+import java.awt.Graphics;
+
+/**
+ * CPU opponent containing AI logic<br>
+ * The AI logic was inspired by this article
+ * https://codemyroad.wordpress.com/2013/04/14/tetris-ai-the-near-perfect-player/
+ * @author GOD
+ */
+public final class Cpu extends Player implements Disposable
+{
+    //do he have the destination
+    private boolean destination = false;
+    
+    //the target column we want the ai to move to
+    private int column;
+    
+    //the target number of rotations
+    private int roationCount;
+    
+    //aggregate height score weight
+    public static final double WEIGHT_AGGREGATE_HEIGHT = -0.66569;
+    
+    //completed lines score weight
+    public static final double WEIGHT_COMPLETED_LINES = 0.99275;
+    
+    //holes score weight
+    public static final double WEIGHT_HOLES = -0.46544;
+    
+    //bumpiness score weight
+    public static final double WEIGHT_BUMPINESS = -0.24077;
+    
+    //object used to locate the best placement, the actual board is never modified
+    private Search search;
+    
+    //the maximum number of board states cached by the search
+    private static final int TABLE_CAPACITY = (1 << 16);
+    
+    public Cpu(final int modeIndex) throws Exception
+    {
+        super(modeIndex, "Cpu", false);
+        
+        //create our search with the score weights
+        this.search = new Search(WEIGHT_AGGREGATE_HEIGHT, WEIGHT_COMPLETED_LINES, WEIGHT_HOLES, WEIGHT_BUMPINESS);
+        
+        //only look at the current piece until told otherwise
+        configure(this.search, 1);
+    }
+    
+    /**
+     * Set the search depth, and the options that depend on it, the same way for every cpu.<br>
+     * The search is only split across threads when looking ahead, a single piece has about 40 candidates
+     * which is too little work to pay for the threads.<br>
+     * The table only caches the best reply of the next piece, so it is only used when looking ahead
+     * @param search The search we are configuring
+     * @param depth 1 to only consider the current piece, 2 to also consider the next piece
+     * @throws Exception if the depth is not supported by the search
+     */
+    public static void configure(final Search search, final int depth) throws Exception
+    {
+        search.setDepth(depth);
+        
+        //split the search across threads if we look ahead and have more than 1 processor
+        search.setParallel(depth > 1 && Runtime.getRuntime().availableProcessors() > 1);
+        
+        //cache the reply scores, so boards already expanded are not searched again
+        if (depth < 2)
+        {
+            search.setTable(null);
+        }
+        else if (search.getTable() == null)
+        {
+            search.setTable(new TranspositionTable(TABLE_CAPACITY));
+        }
+    }
+    
+    /**
+     * Set how many pieces the cpu looks ahead
+     * @param depth 1 to only consider the current piece, 2 to also consider the next piece
+     * @throws Exception if the depth is not supported by the search
+     */
+    public void setSearchDepth(final int depth) throws Exception
+    {
+        configure(this.search, depth);
+    }
+    
+    @Override
+    public void dispose()
+    {
+        super.dispose();
+        
+        search = null;
+    }
+    
+    /**
+     * Set the number of rotations for placing our piece
+     * @param rotations The total number of rotations needed to get to our goal
+     */
+    private void setTargetRotation(final int roationCount)
+    {
+        this.roationCount = roationCount;
+    }
+    
+    /**
+     * Get the number of rotations for placing our piece
+     * @return The total number of rotations needed to get to our goal
+     */
+    private int getTargetRotation()
+    {
+        return this.roationCount;
+    }
+    
+    /**
+     * Set the target column for placing our piece
+     * @param column The column we want to put our piece
+     */
+    private void setTargetColumn(final int column)
+    {
+        this.column = column;
+    }
+    
+    /**
+     * Get the target column for placing our piece
+     * @return The column we want to put our piece
+     */
+    private int getTargetColumn()
+    {
+        return this.column;
+    }
+            
+    /**
+     * Do we have a destination?
+     * @return true if we have the location of the piece we want to place, false otherwise
+     */
+    private boolean hasDestination()
+    {
+        return this.destination;
+    }
+    
+    /**
+     * Set flag if we have a destination
+     * @param destination true if we have found a destination, false otherwise
+     */
+    private void setDestination(final boolean destination)
+    {
+        this.destination = destination;
+    }
+    
+    @Override
+    public void update(final Engine engine) throws Exception
+    {
+        //update common elements
+        super.updateBasic(engine);
+
+        //make sure there is a current piece in play
+        if (getPiece() != null)
+        {
+            //do we have the destination for the current piece
+            if (!hasDestination())
+            {
+                //locate the best position
+                calculateDestination();
+            }
+            else
+            {
+                //if we are not at our target rotation yet
+                if (getPiece().getRotation() != getTargetRotation())
+                {
+                    //rotate piece
+                    rotate();
+                }
+                else if (getPiece().getCol() < getTargetColumn())
+                {
+                    //if we are short of our destination move east
+                    moveRight();
+                }
+                else if (getPiece().getCol() > getTargetColumn())
+                {
+                    //if we are past our destination move west
+                    moveLeft();
+                }
+                else
+                {
+                    //the piece will drop here, don't need to do anything
+                }
+            }
+        }
+        else
+        {
+            //if there is no current piece, we will need to calculate a new destination when we get one
+            setDestination(false);
+        }
+    }
+    
+    /**
+     * Here we determine the best place to put the tetris piece.<br>
+     * We will implement a scoring algorithm.<br>
+     * This will locate the position with the highest score as our destination.<br>
+     * Each placement is scored on a snapshot of the board, the board and piece are not modified
+     */
+    private void calculateDestination()
+    {
+        //the next piece will be considered if the search looks ahead
+        final int next = (getNextPiece() != null) ? getNextPiece().getType() : Search.NO_PIECE;
+        
+        //locate the placement with the highest score
+        final Placement placement = search.find(getGame().getBits(), getPiece().getType(), getPiece().getRotation(), next);
+        
+        //report the cost of the search
+        if (Shared.DEBUG)
+            System.out.println("Search nodes = " + search.getNodes() + ", time = " + (search.getNanos() / 1000) + " microseconds, table hit rate = " + ((search.getTable() != null) ? search.getTable().getHitRate() : 0));
+        
+        if (placement != null)
+        {
+            //set our target rotation
+            setTargetRotation(placement.getRotation());
+            
+            //set the column we want to place the piece
+            setTargetColumn(placement.getCol());
+        }
+        else
+        {
+            //the piece does not fit anywhere, let it drop where it is
+            setTargetRotation(getPiece().getRotation());
+            setTargetColumn((int)getPiece().getCol());
+        }
+        
+        //flag that we have a destination
+        setDestination(true);
+    }
+    
+    @Override
+    public void render(final Graphics graphics)
+    {
+        super.render(graphics);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,268 @@
+package com.gamesbykevin.tetris.player;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.font.FontRenderContext;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+/**
+ * Every printable character of a font drawn once in each color.<br>
+ * Text is composed by copying the pixels of each character into an image, so no Graphics object is needed to update the text.<br>
+ * The characters are drawn on the background color, and only the pixels of the character are copied
+ * @author GOD
+ */
+public final class GlyphAtlas
+{
+    //the range of characters drawn
+    private static final char FIRST = ' ';
+    private static final char LAST = '~';
+    
+    //the colors the characters are drawn in, 1 row for each color
+    private final Color[] colors;
+    
+    //the pixel of the background, these pixels are not copied
+    private final int background;
+    
+    //the pixels of every character in every color
+    private final int[] pixels;
+    
+    //the width of the atlas
+    private final int width;
+    
+    //the height of each row
+    private final int height;
+    
+    //the distance from the top of each row to the baseline
+    private final int ascent;
+    
+    //the location of each character in the row
+    private final int[] glyphX;
+    
+    //the width of each character in the row
+    private final int[] glyphWidth;
+    
+    //the offset from the pen position to the start of each character
+    private final int[] glyphLeft;
+    
+    //the distance to move the pen after each character
+    private final int[] advance;
+    
+    /**
+     * Draw every character in every color
+     * @param font The font of the text
+     * @param colors The colors the text can be drawn in
+     * @param background The color behind the text
+     */
+    public GlyphAtlas(final Font font, final Color[] colors, final Color background)
+    {
+        this.colors = colors;
+        this.background = background.getRGB();
+        
+        final int count = LAST - FIRST + 1;
+        
+        this.glyphX = new int[count];
+        this.glyphWidth = new int[count];
+        this.glyphLeft = new int[count];
+        this.advance = new int[count];
+        
+        //we need a graphics object once to measure the font
+        final BufferedImage measure = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D g2d = measure.createGraphics();
+        g2d.setFont(font);
+        
+        final FontMetrics metrics = g2d.getFontMetrics();
+        final FontRenderContext context = g2d.getFontRenderContext();
+        
+        //the area covered by the characters, relative to the baseline
+        int top = -metrics.getAscent();
+        int bottom = metrics.getDescent();
+        int x = 0;
+        
+        for (int i = 0; i < count; i++)
+        {
+            final char character = (char)(FIRST + i);
+            
+            //the pixels covered by the character
+            final Rectangle bounds = font.createGlyphVector(context, new char[]{character}).getPixelBounds(context, 0, 0);
+            
+            advance[i] = metrics.charWidth(character);
+            
+            //the character can extend past the pen position or the advance
+            glyphLeft[i] = Math.min(0, bounds.x);
+            glyphWidth[i] = Math.max(advance[i], bounds.x + bounds.width) - glyphLeft[i];
+            glyphX[i] = x;
+            
+            x += glyphWidth[i];
+            
+            if (!bounds.isEmpty())
+            {
+                top = Math.min(top, bounds.y);
+                bottom = Math.max(bottom, bounds.y + bounds.height);
+            }
+        }
+        
+        g2d.dispose();
+        
+        this.width = Math.max(1, x);
+        this.height = bottom - top;
+        this.ascent = -top;
+        
+        //draw every character in every color
+        final BufferedImage atlas = new BufferedImage(width, height * colors.length, BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D graphics = atlas.createGraphics();
+        graphics.setFont(font);
+        graphics.setColor(background);
+        graphics.fillRect(0, 0, atlas.getWidth(), atlas.getHeight());
+        
+        for (int row = 0; row < colors.length; row++)
+        {
+            graphics.setColor(colors[row]);
+            
+            for (int i = 0; i < count; i++)
+            {
+                graphics.drawString(String.valueOf((char)(FIRST + i)), glyphX[i] - glyphLeft[i], (row * height) + ascent);
+            }
+        }
+        
+        graphics.dispose();
+        
+        this.pixels = ((DataBufferInt)atlas.getRaster().getDataBuffer()).getData();
+    }
+    
+    /**
+     * Get the pixels of the image so text can be drawn on it
+     * @param image The image, must be of type TYPE_INT_ARGB or TYPE_INT_RGB
+     * @return The pixels of the image
+     */
+    public static int[] getPixels(final BufferedImage image)
+    {
+        return ((DataBufferInt)image.getRaster().getDataBuffer()).getData();
+    }
+    
+    /**
+     * Draw the text
+     * @param target The pixels of the image we are drawing on
+     * @param targetWidth The width of the image
+     * @param text The text to draw, characters not in the atlas are drawn as a space
+     * @param x x-coordinate where the text starts
+     * @param y y-coordinate of the baseline
+     * @param color The color of the text, must be 1 of the colors of the atlas
+     * @return x-coordinate where the next text would start
+     */
+    public int draw(final int[] target, final int targetWidth, final String text, final int x, final int y, final Color color)
+    {
+        final int row = getRow(color);
+        
+        int pen = x;
+        
+        for (int i = 0; i < text.length(); i++)
+        {
+            pen = draw(target, targetWidth, text.charAt(i), pen, y, row);
+        }
+        
+        return pen;
+    }
+    
+    /**
+     * Draw the number, without creating a string
+     * @param target The pixels of the image we are drawing on
+     * @param targetWidth The width of the image
+     * @param number The number to draw
+     * @param x x-coordinate where the number starts
+     * @param y y-coordinate of the baseline
+     * @param color The color of the number, must be 1 of the colors of the atlas
+     * @return x-coordinate where the next text would start
+     */
+    public int draw(final int[] target, final int targetWidth, final long number, final int x, final int y, final Color color)
+    {
+        final int row = getRow(color);
+        
+        int pen = x;
+        
+        if (number < 0)
+            pen = draw(target, targetWidth, '-', pen, y, row);
+        
+        //find the largest power of 10 in the number
+        long divisor = 1;
+        
+        while (Math.abs(number / divisor) >= 10)
+        {
+            divisor *= 10;
+        }
+        
+        //draw each digit from the largest
+        for (; divisor > 0; divisor /= 10)
+        {
+            pen = draw(target, targetWidth, (char)('0' + Math.abs((number / divisor) % 10)), pen, y, row);
+        }
+        
+        return pen;
+    }
+    
+    /**
+     * Copy the pixels of a single character
+     * @param target The pixels of the image we are drawing on
+     * @param targetWidth The width of the image
+     * @param character The character to draw
+     * @param x x-coordinate of the pen
+     * @param y y-coordinate of the baseline
+     * @param row The row of the color in the atlas
+     * @return x-coordinate of the pen after the character
+     */
+    private int draw(final int[] target, final int targetWidth, final char character, final int x, final int y, final int row)
+    {
+        //characters not in the atlas are drawn as a space
+        final int index = (character >= FIRST && character <= LAST) ? character - FIRST : 0;
+        
+        final int targetHeight = target.length / targetWidth;
+        
+        //the corner where the character is placed on the target
+        final int startX = x + glyphLeft[index];
+        final int startY = y - ascent;
+        
+        for (int offsetY = 0; offsetY < height; offsetY++)
+        {
+            final int targetY = startY + offsetY;
+            
+            if (targetY < 0 || targetY >= targetHeight)
+                continue;
+            
+            final int source = ((row * height) + offsetY) * width + glyphX[index];
+            final int destination = targetY * targetWidth;
+            
+            for (int offsetX = 0; offsetX < glyphWidth[index]; offsetX++)
+            {
+                final int targetX = startX + offsetX;
+                
+                if (targetX < 0 || targetX >= targetWidth)
+                    continue;
+                
+                //only copy the pixels of the character
+                if (pixels[source + offsetX] != background)
+                    target[destination + targetX] = pixels[source + offsetX];
+            }
+        }
+        
+        return x + advance[index];
+    }
+    
+    /**
+     * Get the row of the color
+     * @param color The color
+     * @return The row in the atlas, the first row if the color was not drawn
+     */
+    private int getRow(final Color color)
+    {
+        for (int row = 0; row < colors.length; row++)
+        {
+            if (colors[row].equals(color))
+                return row;
+        }
+        
+        return 0;
+    }
+}
\ No newline at end of file
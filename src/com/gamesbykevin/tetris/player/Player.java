@@ -1,507 +1,502 @@
-package com.gamesbykevin.tetris.player;
-
-import com.gamesbykevin.framework.base.Sprite;
-import com.gamesbykevin.framework.resources.Disposable;
-import com.gamesbykevin.framework.util.Timer;
-import com.gamesbykevin.framework.util.Timers;
-
-import com.gamesbykevin.tetris.board.Board;
-import com.gamesbykevin.tetris.board.piece.Block;
-import com.gamesbykevin.tetris.board.piece.Piece;
-import com.gamesbykevin.tetris.engine.Engine;
-import com.gamesbykevin.tetris.menu.CustomMenu;
-import com.gamesbykevin.tetris.resources.GameAudio;
-import com.gamesbykevin.tetris.shared.IElement;
-
-import java.awt.Graphics;
-
-/**
- * This class will represent the player
- * @author GOD
- */
-public abstract class Player extends Sprite implements Disposable, IElement
-{
-    //the players board
-    private Board board;
-    
-    //the current piece in play for the player
-    private Piece piece;
-    
-    //the next piece to be in play
-    private Piece next;
-    
-    //timer that determines when a piece will drop
-    private Timer timer;
-    
-    //timer that determines how long to display a completed line(s)
-    private Timer complete;
-    
-    //default time between piece drops
-    protected static final long DEFAULT_PIECE_DROP_DELAY = Timers.toNanoSeconds(1000L);
-    
-    //default time to show a completed line(s)
-    private static final long COMPLETED_LINE_DELAY = Timers.toNanoSeconds(1000L);
-    
-    //is the game finished for the player (meaning the board crashed)
-    private boolean gameover = false;
-    
-    //the desired rendering for this player
-    private int renderIndex = 0;
-    
-    //the game game we are playing
-    private final int modeIndex;
-    
-    //the text description of player
-    private final String name;
-    
-    //store game stats here
-    private Stats stats;
-    
-    //is this player human
-    private final boolean human;
-    
-    protected Player(final int modeIndex, final String name, final boolean human)
-    {
-        //store the game mode
-        this.modeIndex = modeIndex;
-        
-        //store the player name description
-        this.name = name;
-        
-        //is this player human
-        this.human = human;
-        
-        //create a new board
-        this.board = new Board();
-        
-        //create the timer that controls when the piece falls
-        this.timer = new Timer(DEFAULT_PIECE_DROP_DELAY);
-        
-        //create timer to track completed line
-        this.complete = new Timer(COMPLETED_LINE_DELAY);
-        
-        //create object for game stats
-        this.stats = new Stats(getModeIndex());
-    }
-    
-    public void reset() throws Exception
-    {
-        //reset board
-        getBoard().reset();
-        
-        //reset timers
-        getTimer().reset();
-        getCompletedTimer().reset();
-        
-        piece = null;
-        next = null;
-        
-        //game is not over
-        setGameover(false);
-    }
-    
-    /**
-     * Is this player human
-     * @return true - yes, false otherwise
-     */
-    public boolean isHuman()
-    {
-        return this.human;
-    }
-    
-    /**
-     * Get game stats
-     * @return Object representing game stats for this player
-     */
-    public Stats getStats()
-    {
-        return this.stats;
-    }
-    
-    /**
-     * Get the description of the player
-     * @return The text description of this player
-     */
-    public String getName()
-    {
-        return this.name;
-    }
-    
-    /**
-     * Get the mode of play
-     * @return Index of the mode playing
-     */
-    public final int getModeIndex()
-    {
-        return this.modeIndex;
-    }
-    
-    /**
-     * Set the render index
-     * @param renderIndex The type of render we will perform
-     */
-    protected void setRenderIndex(final int renderIndex)
-    {
-        this.renderIndex = renderIndex;
-    }
-    
-    /**
-     * Get the desired render
-     * @return index containing the desired render 
-     */
-    protected int getRenderIndex()
-    {
-        return this.renderIndex;
-    }
-    
-    /**
-     * Get the board
-     * @return The board where the player places tetris blocks
-     */
-    public Board getBoard()
-    {
-        return this.board;
-    }
-    
-    protected Piece getNextPiece()
-    {
-        return this.next;
-    }
-    
-    protected Piece getPiece()
-    {
-        return this.piece;
-    }
-    
-    protected void assignNextPiece()
-    {
-        //assign the next piece as current
-        this.piece = getNextPiece();
-        
-        //place in starting point
-        this.piece.setCol(Board.START_COL);
-        this.piece.setRow(Board.START_ROW);
-    }
-    
-    /**
-     * Remove the current piece
-     */
-    protected void removePiece()
-    {
-        this.piece = null;
-    }
-    
-    /**
-     * Create a tetris piece of the specified type and at the default starting location.<BR>
-     * @param type The type of piece we want to add
-     * @throws Exception Exception will be thrown if type does not exist
-     */
-    protected void createNextPiece(final int type) throws Exception
-    {
-        this.next = new Piece(Board.COLS + 2, Board.START_ROW + Board.ROWS - 3, type);
-    }
-    
-    /**
-     * Get the timer that represents the delay between each piece drop.
-     * @return The timer that represents the delay between each piece drop.
-     */
-    protected Timer getTimer()
-    {
-        return this.timer;
-    }
-    
-    /**
-     * Get the timer that represents the delay to player activity when at least 1 line has been completed.
-     * @return The timer that represents the delay to player activity when at least 1 line has been completed.
-     */
-    protected Timer getCompletedTimer()
-    {
-        return this.complete;
-    }
-    
-    /**
-     * Update common elements for the player
-     * @param engine 
-     */
-    protected void updateBasic(final Engine engine) throws Exception
-    {
-        //update stats
-        getStats().update(this, engine.getMain().getTime());
-        
-        //if the human does not have a tetris piece, create one
-        if (getPiece() == null && !getBoard().hasComplete())
-        {
-            //if next piece has been created assign as current
-            if (getNextPiece() != null)
-                assignNextPiece();
-
-            //create the next piece
-            createNextPiece(Piece.PIECES[engine.getRandom().nextInt(Piece.PIECES.length)]);
-        }
-        else
-        {
-            //if time has passed move piece down
-            if (getTimer().hasTimePassed())
-            {
-                //reset timer
-                getTimer().reset();
-
-                //move piece south
-                getPiece().increaseRow();
-
-                //make sure the piece is not at the very top of the board
-                if (!getPiece().isAboveCeiling())
-                {
-                    //if we are out of bounds or intersecting another block on the board
-                    if (!getBoard().hasBounds(getPiece()) || getBoard().hasBlock(getPiece()))
-                    {
-                        //move piece back to previous
-                        getPiece().decreaseRow();
-
-                        //if the piece is still not within bounds the player lost
-                        if (!getBoard().hasBounds(getPiece()))
-                            setGameover(true);
-                        
-                        //make sure we aren't placing piece over another
-                        if (!getBoard().hasBlock(getPiece()))
-                        {
-                            //add piece to board
-                            getBoard().addPiece(getPiece());
-                        }
-                        else
-                        {
-                            //fill piece where possible
-                            getBoard().fillPiece(getPiece());
-                            
-                            //we are placing a piece over another, it is gameover
-                            setGameover(true);
-                        }
-                        
-                        //check around the start area at top to see if there is gameover
-                        for (int col = 0; col <= Board.START_RANGE; col++)
-                        {
-                            //if there is a block here, it is gameover
-                            if (getBoard().hasBlock(Board.START_COL - col, Board.START_ROW))
-                                setGameover(true);
-                            if (getBoard().hasBlock(Board.START_COL + col, Board.START_ROW))
-                                setGameover(true);
-                        }
-                        
-                        //check and mark for a complete line
-                        if (getBoard().markCompletedRow())
-                        {
-                            //play sound effect
-                            engine.getResources().playGameAudio(GameAudio.Keys.Clear);
-                        }
-                        else
-                        {
-                            //play sound effect
-                            engine.getResources().playGameAudio(GameAudio.Keys.Place);
-                        }
-
-                        //now remove the piece
-                        removePiece();
-                    }
-                }
-            }
-            else
-            {
-                //at least 1 row has been completed
-                if (getBoard().hasComplete())
-                {
-                    if (!getCompletedTimer().hasTimePassed())
-                    {
-                        //update timer until complete
-                        getCompletedTimer().update(engine.getMain().getTime());
-                    }
-                    else
-                    {
-                        //add the completed rows towards the total lines completed count
-                        getBoard().setLines(getBoard().getLines() + getBoard().getCompletedRowCount());
-                        
-                        //remove completed lines
-                        getBoard().clearCompletedRows();
-
-                        //drop above blocks
-                        getBoard().dropBlocks();
-
-                        //the board no longer has a completed line(s)
-                        getBoard().setComplete(false);
-
-                        //reset timer
-                        getCompletedTimer().reset();
-                    }
-                }
-                else
-                {
-                    //update timer
-                    getTimer().update(engine.getMain().getTime());
-                }
-            }
-        }
-    }
-    
-    /**
-     * Is the game over for this player?
-     * @return true if the board is filled too high with blocks, false otherwise
-     */
-    protected boolean hasGameover()
-    {
-        return this.gameover;
-    }
-    
-    /**
-     * Flag the game finished (or not)
-     * @param gameover true if the game is over, false otherwise
-     */
-    protected void setGameover(final boolean gameover)
-    {
-        this.gameover = gameover;
-    }
-    
-    /**
-     * Rotate piece
-     */
-    protected void rotate()
-    {
-        //rotate piece
-        getPiece().rotateClockwise();
-                
-        if (!getPiece().isAboveCeiling())
-        {
-            //if we are out of bounds or intersecting another block on the board
-            if (!getBoard().hasBounds(getPiece()) || getBoard().hasBlock(getPiece()))
-            {
-                //rotate piece backwards
-                getPiece().rotateCounterClockwise();
-            }
-        }
-    }
-    
-    /**
-     * Each player is required to have their own update method
-     * @param engine Object containing all game elements
-     */
-    @Override
-    public abstract void update(final Engine engine) throws Exception;
-    
-    @Override
-    public void dispose()
-    {
-        super.dispose();
-        
-        if (board != null)
-        {
-            board.dispose();
-            board = null;
-        }
-        
-        if (piece != null)
-        {
-            piece.dispose();
-            piece = null;
-        }
-        
-        if (next != null)
-        {
-            next.dispose();
-            next = null;
-        }
-        
-        if (stats != null)
-        {
-            stats.dispose();
-            stats = null;
-        }
-        
-        if (timer != null)
-            timer = null;
-        
-        if (complete != null)
-            complete = null;
-    }
-    
-    @Override
-    public void render(final Graphics graphics)
-    {
-        if (getStats() != null)
-        {
-            getStats().render(graphics);
-        }
-        
-        if (getBoard() != null)
-        {
-            //only draw the current piece if no lines have been completed
-            if (!getBoard().hasComplete())
-            {
-                if (getPiece() != null)
-                {
-                    try
-                    {
-                        if (!getBoard().hasBlock(getPiece()))
-                        {
-                            //add piece to board
-                            getBoard().addPiece(getPiece());
-
-                            //draw board
-                            getBoard().render(graphics, getRenderIndex());
-
-                            //now remove the piece
-                            getBoard().removePiece(getPiece());
-                        }
-                        else
-                        {
-                            //draw board
-                            getBoard().render(graphics, getRenderIndex());
-                        }
-                    }
-                    catch (Exception e)
-                    {
-                        e.printStackTrace();
-                    }
-                }
-                else
-                {
-                    //draw board
-                    getBoard().render(graphics, getRenderIndex());
-                }
-            }
-            else
-            {
-                //draw board
-                getBoard().render(graphics, getRenderIndex());
-            }
-        }
-        
-        if (getNextPiece() != null)
-        {
-            double x;
-            double y;
-            
-            switch (getRenderIndex())
-            {
-                case CustomMenu.RENDER_2D:
-                default:
-                    //calculate the 2d coordinates where the render should start
-                    x = (int)(getBoard().getX() + (getNextPiece().getCol() * Block.WIDTH));
-                    y = (int)(getBoard().getY() + (getNextPiece().getRow() * Block.HEIGHT));
-                    break;
-                    
-                case CustomMenu.RENDER_ISOMETRIC_1:
-                    //calculate the isometric coordinates where render should start
-                    x = getBoard().getX() + Block.getIsometric1X(getNextPiece());
-                    y = getBoard().getY() + Block.getIsometric1Y(getNextPiece());
-                    break;
-                    
-                case CustomMenu.RENDER_ISOMETRIC_2:
-                    //calculate the isometric coordinates where render should start
-                    x = getBoard().getX() + Block.getIsometric2X(getNextPiece());
-                    y = getBoard().getY() + Block.getIsometric2Y(getNextPiece());
-                    break;
-            }
-            
-            //render the piece
-            getNextPiece().render(graphics, x, y, getRenderIndex());
-        }
-    }
+package com.gamesbykevin.tetris.player;
+
+import com.gamesbykevin.framework.base.Sprite;
+import com.gamesbykevin.framework.resources.Disposable;
+import com.gamesbykevin.framework.util.Timer;
+import com.gamesbykevin.framework.util.Timers;
+
+import com.gamesbykevin.tetris.board.Board;
+import com.gamesbykevin.tetris.board.piece.Block;
+import com.gamesbykevin.tetris.board.piece.Piece;
+import com.gamesbykevin.tetris.board.piece.Shapes;
+import com.gamesbykevin.tetris.engine.Engine;
+import com.gamesbykevin.tetris.game.Game;
+import com.gamesbykevin.tetris.menu.CustomMenu;
+import com.gamesbykevin.tetris.shared.IElement;
+
+import java.awt.Graphics;
+
+/**
+ * This class will represent the player.<br>
+ * The rules are played out by a headless game, the player decides when the game advances and draws the result
+ * @author GOD
+ */
+public abstract class Player extends Sprite implements Disposable, IElement
+{
+    //the game containing the rules, piece queue and blocks in play
+    private Game game;
+    
+    //the players board, a listener of the game that draws the blocks
+    private Board board;
+    
+    //the current piece in play for the player, matching the current piece of the game
+    private Piece piece;
+    
+    //the next piece to be in play, matching the next piece of the game
+    private Piece next;
+    
+    //the pieces are created once and re-used, 2 of each type in case the current and next piece are the same type
+    private Piece[] pieces = new Piece[Shapes.getTypeCount() * 2];
+    
+    //the number of pieces the game had created when the pieces were last matched
+    private int pieceCount = 0;
+    
+    //timer that determines when a piece will drop
+    private Timer timer;
+    
+    //timer that determines how long to display a completed line(s)
+    private Timer complete;
+    
+    //default time between piece drops
+    protected static final long DEFAULT_PIECE_DROP_DELAY = Timers.toNanoSeconds(1000L);
+    
+    //default time to show a completed line(s)
+    private static final long COMPLETED_LINE_DELAY = Timers.toNanoSeconds(1000L);
+    
+    //is the game finished for the player (meaning the board crashed)
+    private boolean gameover = false;
+    
+    //the desired rendering for this player
+    private int renderIndex = 0;
+    
+    //the game game we are playing
+    private final int modeIndex;
+    
+    //the text description of player
+    private final String name;
+    
+    //store game stats here
+    private Stats stats;
+    
+    //is this player human
+    private final boolean human;
+    
+    protected Player(final int modeIndex, final String name, final boolean human)
+    {
+        //store the game mode
+        this.modeIndex = modeIndex;
+        
+        //store the player name description
+        this.name = name;
+        
+        //is this player human
+        this.human = human;
+        
+        //create a new board
+        this.board = new Board();
+        
+        //create the game and draw the blocks on our board
+        this.game = new Game();
+        this.game.addListener(board);
+        
+        //create the timer that controls when the piece falls
+        this.timer = new Timer(DEFAULT_PIECE_DROP_DELAY);
+        
+        //create timer to track completed line
+        this.complete = new Timer(COMPLETED_LINE_DELAY);
+        
+        //create object for game stats
+        this.stats = new Stats(getModeIndex());
+    }
+    
+    public void reset() throws Exception
+    {
+        //reset the game, the board will also be reset
+        getGame().reset();
+        
+        //reset timers
+        getTimer().reset();
+        getCompletedTimer().reset();
+        
+        piece = null;
+        next = null;
+        pieceCount = 0;
+        
+        //game is not over
+        setGameover(false);
+    }
+    
+    /**
+     * Is this player human
+     * @return true - yes, false otherwise
+     */
+    public boolean isHuman()
+    {
+        return this.human;
+    }
+    
+    /**
+     * Get game stats
+     * @return Object representing game stats for this player
+     */
+    public Stats getStats()
+    {
+        return this.stats;
+    }
+    
+    /**
+     * Get the description of the player
+     * @return The text description of this player
+     */
+    public String getName()
+    {
+        return this.name;
+    }
+    
+    /**
+     * Get the mode of play
+     * @return Index of the mode playing
+     */
+    public final int getModeIndex()
+    {
+        return this.modeIndex;
+    }
+    
+    /**
+     * Set the render index
+     * @param renderIndex The type of render we will perform
+     */
+    protected void setRenderIndex(final int renderIndex)
+    {
+        this.renderIndex = renderIndex;
+    }
+    
+    /**
+     * Get the desired render
+     * @return index containing the desired render 
+     */
+    protected int getRenderIndex()
+    {
+        return this.renderIndex;
+    }
+    
+    /**
+     * Get the game
+     * @return The headless game containing the rules and blocks in play
+     */
+    public Game getGame()
+    {
+        return this.game;
+    }
+    
+    /**
+     * Get the board
+     * @return The board where the player places tetris blocks
+     */
+    public Board getBoard()
+    {
+        return this.board;
+    }
+    
+    protected Piece getNextPiece()
+    {
+        return this.next;
+    }
+    
+    protected Piece getPiece()
+    {
+        return this.piece;
+    }
+    
+    /**
+     * Get a piece of the type that is not the current piece, so no objects are created once every type has been played
+     * @param type The type of piece
+     * @param col The starting column
+     * @param row The starting row
+     * @return The piece placed at the location with no rotation
+     * @throws Exception if the piece type does not exist
+     */
+    private Piece getPiece(final int type, final int col, final int row) throws Exception
+    {
+        if (!Shapes.hasType(type))
+            throw new Exception("Piece is not setup here - " + type);
+        
+        //use the second piece of the type if the first is in play
+        int index = type * 2;
+        
+        if (pieces[index] != null && pieces[index] == this.piece)
+            index++;
+        
+        //create the piece the first time it is needed
+        if (pieces[index] == null)
+            pieces[index] = new Piece(col, row, type);
+        
+        final Piece tmp = pieces[index];
+        tmp.setCol(col);
+        tmp.setRow(row);
+        tmp.setRotations(0);
+        
+        return tmp;
+    }
+    
+    /**
+     * Match the current and next piece with the pieces of the game
+     * @throws Exception if the piece type does not exist
+     */
+    private void syncPieces() throws Exception
+    {
+        //if the game created a new piece
+        if (getGame().getPieceCount() != pieceCount)
+        {
+            pieceCount = getGame().getPieceCount();
+            
+            if (getGame().hasPiece())
+            {
+                //the next piece becomes the current piece
+                if (next != null && next.getType() == getGame().getPieceType())
+                {
+                    this.piece = next;
+                }
+                else
+                {
+                    this.piece = getPiece(getGame().getPieceType(), Board.START_COL, Board.START_ROW);
+                }
+            }
+            
+            //create the next piece
+            this.next = getPiece(getGame().getNextType(), Board.COLS + 2, Board.START_ROW + Board.ROWS - 3);
+        }
+        
+        if (!getGame().hasPiece())
+        {
+            //the piece has been placed on the board
+            this.piece = null;
+        }
+        else
+        {
+            //place the piece where it is in the game
+            this.piece.setCol(getGame().getCol());
+            this.piece.setRow(getGame().getRow());
+            this.piece.setRotations(getGame().getRotation());
+        }
+    }
+    
+    /**
+     * Get the timer that represents the delay between each piece drop.
+     * @return The timer that represents the delay between each piece drop.
+     */
+    protected Timer getTimer()
+    {
+        return this.timer;
+    }
+    
+    /**
+     * Get the timer that represents the delay to player activity when at least 1 line has been completed.
+     * @return The timer that represents the delay to player activity when at least 1 line has been completed.
+     */
+    protected Timer getCompletedTimer()
+    {
+        return this.complete;
+    }
+    
+    /**
+     * Update common elements for the player
+     * @param engine 
+     */
+    protected void updateBasic(final Engine engine) throws Exception
+    {
+        //update stats
+        getStats().update(this, engine.getMain().getTime());
+        
+        //if the player does not have a tetris piece, create one
+        if (!getGame().hasPiece() && !getGame().hasComplete())
+        {
+            //create the next piece, the previous next piece becomes current
+            getGame().spawn(Piece.PIECES[engine.getRandom().nextInt(Piece.PIECES.length)]);
+        }
+        else
+        {
+            //if time has passed move piece down
+            if (getTimer().hasTimePassed())
+            {
+                //reset timer
+                getTimer().reset();
+
+                //move piece south, it will be placed if it can't move
+                getGame().fall();
+            }
+            else
+            {
+                //at least 1 row has been completed
+                if (getGame().hasComplete())
+                {
+                    if (!getCompletedTimer().hasTimePassed())
+                    {
+                        //update timer until complete
+                        getCompletedTimer().update(engine.getMain().getTime());
+                    }
+                    else
+                    {
+                        //remove completed lines and drop above blocks
+                        getGame().clear();
+
+                        //reset timer
+                        getCompletedTimer().reset();
+                    }
+                }
+                else
+                {
+                    //update timer
+                    getTimer().update(engine.getMain().getTime());
+                }
+            }
+        }
+        
+        //match our pieces with the game
+        syncPieces();
+    }
+    
+    /**
+     * Is the game over for this player?
+     * @return true if the board is filled too high with blocks, false otherwise
+     */
+    protected boolean hasGameover()
+    {
+        return (this.gameover || getGame().hasGameover());
+    }
+    
+    /**
+     * Flag the game finished (or not)
+     * @param gameover true if the game is over, false otherwise
+     */
+    protected void setGameover(final boolean gameover)
+    {
+        this.gameover = gameover;
+    }
+    
+    /**
+     * Rotate piece, the piece will not rotate if it would collide
+     * @throws Exception if the piece type does not exist
+     */
+    protected void rotate() throws Exception
+    {
+        getGame().rotate();
+        syncPieces();
+    }
+    
+    /**
+     * Move the piece west, the piece will not move if it would collide
+     * @throws Exception if the piece type does not exist
+     */
+    protected void moveLeft() throws Exception
+    {
+        getGame().moveLeft();
+        syncPieces();
+    }
+    
+    /**
+     * Move the piece east, the piece will not move if it would collide
+     * @throws Exception if the piece type does not exist
+     */
+    protected void moveRight() throws Exception
+    {
+        getGame().moveRight();
+        syncPieces();
+    }
+    
+    /**
+     * Each player is required to have their own update method
+     * @param engine Object containing all game elements
+     */
+    @Override
+    public abstract void update(final Engine engine) throws Exception;
+    
+    @Override
+    public void dispose()
+    {
+        super.dispose();
+        
+        game = null;
+        
+        if (board != null)
+        {
+            board.dispose();
+            board = null;
+        }
+        
+        //the current and next piece are from the created pieces
+        piece = null;
+        next = null;
+        
+        if (pieces != null)
+        {
+            for (int i = 0; i < pieces.length; i++)
+            {
+                if (pieces[i] != null)
+                {
+                    pieces[i].dispose();
+                    pieces[i] = null;
+                }
+            }
+            
+            pieces = null;
+        }
+        
+        if (stats != null)
+        {
+            stats.dispose();
+            stats = null;
+        }
+        
+        if (timer != null)
+            timer = null;
+        
+        if (complete != null)
+            complete = null;
+    }
+    
+    @Override
+    public void render(final Graphics graphics)
+    {
+        if (getStats() != null)
+        {
+            getStats().render(graphics);
+        }
+        
+        if (getBoard() != null)
+        {
+            //only draw the current piece if no lines have been completed, and it isn't placed over a block
+            if (!getBoard().hasComplete() && getPiece() != null && !getBoard().hasBlock(getPiece()))
+            {
+                //draw board with the piece, the board is not changed while rendering
+                getBoard().render(graphics, getRenderIndex(), getPiece());
+            }
+            else
+            {
+                //draw board
+                getBoard().render(graphics, getRenderIndex());
+            }
+        }
+        
+        if (getNextPiece() != null)
+        {
+            double x;
+            double y;
+            
+            switch (getRenderIndex())
+            {
+                case CustomMenu.RENDER_2D:
+                default:
+                    //calculate the 2d coordinates where the render should start
+                    x = (int)(getBoard().getX() + (getNextPiece().getCol() * Block.WIDTH));
+                    y = (int)(getBoard().getY() + (getNextPiece().getRow() * Block.HEIGHT));
+                    break;
+                    
+                case CustomMenu.RENDER_ISOMETRIC_1:
+                    //calculate the isometric coordinates where render should start
+                    x = getBoard().getX() + Block.getIsometric1X(getNextPiece());
+                    y = getBoard().getY() + Block.getIsometric1Y(getNextPiece());
+                    break;
+                    
+                case CustomMenu.RENDER_ISOMETRIC_2:
+                    //calculate the isometric coordinates where render should start
+                    x = getBoard().getX() + Block.getIsometric2X(getNextPiece());
+                    y = getBoard().getY() + Block.getIsometric2Y(getNextPiece());
+                    break;
+            }
+            
+            //render the piece
+            getNextPiece().render(graphics, x, y, getRenderIndex());
+        }
+    }
 }
\ No newline at end of file
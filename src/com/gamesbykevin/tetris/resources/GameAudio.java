@@ -1,36 +1,36 @@
-package com.gamesbykevin.tetris.resources;
-
-import com.gamesbykevin.framework.resources.*;
-
-/**
- * All audio for game
- * @author GOD
- */
-public final class GameAudio extends AudioManager
-{
-    //description for progress bar
-    private static final String DESCRIPTION = "Loading Audio Resources";
-    
-    /**
-     * These are the keys used to access the resources and need to match the id in the xml file
-     */
-    public enum Keys
-    {
-        Clear, Move, Place, Rotate,
-        
-        Music1, Music2, Music3, Music4, Music5, 
-        
-        Win, Lose, Countdown
-    }
-    
-    public GameAudio() throws Exception
-    {
-        super(Resources.XML_CONFIG_GAME_AUDIO);
-        
-        //the description that will be displayed for the progress bar
-        super.setProgressDescription(DESCRIPTION);
-        
-        if (Keys.values().length < 1)
-            super.increase();
-    }
+package com.gamesbykevin.tetris.resources;
+
+import com.gamesbykevin.framework.resources.*;
+
+/**
+ * All audio for game
+ * @author GOD
+ */
+public final class GameAudio extends AudioManager
+{
+    //description for progress bar
+    private static final String DESCRIPTION = "Loading Audio Resources";
+    
+    /**
+     * These are the keys used to access the resources and need to match the id in the xml file
+     */
+    public enum Keys
+    {
+        Clear, Move, Place, Rotate,
+        
+        Music1, Music2, Music3, Music4, Music5, 
+        
+        Win, Lose, Countdown
+    }
+    
+    public GameAudio() throws Exception
+    {
+        super(Resources.XML_CONFIG_GAME_AUDIO);
+        
+        //the description that will be displayed for the progress bar
+        super.setProgressDescription(DESCRIPTION);
+        
+        if (Keys.values().length < 1)
+            super.increase();
+    }
 }
\ No newline at end of file
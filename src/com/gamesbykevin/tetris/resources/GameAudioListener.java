@@ -0,0 +1,56 @@
+package com.gamesbykevin.tetris.resources;
+
+import com.gamesbykevin.tetris.game.IGame;
+import com.gamesbykevin.tetris.game.IGameListener;
+
+/**
+ * Play the sound effects for the events of a game
+ * @author GOD
+ */
+public final class GameAudioListener implements IGameListener
+{
+    //the resources containing the audio
+    private final Resources resources;
+    
+    /**
+     * Create a new listener
+     * @param resources The resources containing the audio
+     */
+    public GameAudioListener(final Resources resources)
+    {
+        this.resources = resources;
+    }
+    
+    @Override
+    public void onLock(final IGame game, final int type, final int rotation, final int col, final int row)
+    {
+        if (game.hasComplete())
+        {
+            //play sound effect
+            resources.playGameAudio(GameAudio.Keys.Clear);
+        }
+        else
+        {
+            //play sound effect
+            resources.playGameAudio(GameAudio.Keys.Place);
+        }
+    }
+    
+    @Override
+    public void onClear(final IGame game, final int rows)
+    {
+        //the sound effect is played when the row is completed
+    }
+    
+    @Override
+    public void onGameover(final IGame game)
+    {
+        //the win/lose sound effect depends on every player
+    }
+    
+    @Override
+    public void onReset(final IGame game)
+    {
+        //no sound effect
+    }
+}
\ No newline at end of file
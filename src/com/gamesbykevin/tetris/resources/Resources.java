@@ -1,279 +1,316 @@
-package com.gamesbykevin.tetris.resources;
-
-import com.gamesbykevin.framework.resources.*;
-
-import java.awt.Font;
-import java.awt.Graphics;
-import java.awt.Image;
-import java.awt.Rectangle;
-
-/**
- * This class will load all resources in the collection and provide a way to access them
- * @author GOD
- */
-public final class Resources implements IResources
-{
-    //root directory of all resources
-    private static final String RESOURCE_DIR = "resources/"; 
-    
-    //where our configuration file that contains the resource locations
-    public static final String XML_CONFIG_GAME_AUDIO = RESOURCE_DIR + "gameAudio.xml"; 
-    public static final String XML_CONFIG_GAME_FONT  = RESOURCE_DIR + "gameFont.xml"; 
-    public static final String XML_CONFIG_GAME_IMAGE = RESOURCE_DIR + "gameImage.xml"; 
-    public static final String XML_CONFIG_GAME_TEXT  = RESOURCE_DIR + "gameText.xml"; 
-    public static final String XML_CONFIG_MENU       = RESOURCE_DIR + "menu.xml"; 
-    
-    //are we loading resources
-    private boolean loading = true;
-    
-    //objects that contain resources
-    private GameAudio audio;
-    private GameImages images;
-    private GameFont fonts;
-    private GameText textFiles;
-    
-    public Resources() throws Exception
-    {
-        //object to contain audio resources
-        this.audio = new GameAudio();
-        
-        //object to contain images resources
-        this.images = new GameImages();
-        
-        //object to contain font resources
-        this.fonts = new GameFont();
-        
-        //object to contain text resources
-        this.textFiles = new GameText();
-    }
-    
-    /**
-     * Are we loading resources?
-     * @return true if yes, false otherwise
-     */
-    @Override
-    public boolean isLoading()
-    {
-        return loading;
-    }
-    
-    /**
-     * Stop all sound
-     */
-    public void stopAllSound()
-    {
-        audio.stopAll();
-    }
-    
-    /**
-     * Here we will load the resources one by one and then marking the process finished once done
-     * @param source Class in root directory of project so we have a relative location so we know how to access resources
-     * @throws Exception 
-     */
-    @Override
-    public void update(final Class source) throws Exception
-    {
-        if (!audio.isComplete())
-        {
-            //load 1 resource at a time
-            audio.update(source);
-
-            //exit method so progress can be drawn
-            return;
-        }
-        
-        if (!images.isComplete())
-        {
-            //load 1 resource at a time
-            images.update(source);
-
-            //exit method so progress can be drawn
-            return;
-        }
-        
-        if (!fonts.isComplete())
-        {
-            //load 1 resource at a time
-            fonts.update(source);
-
-            //exit method so progress can be drawn
-            return;
-        }
-        
-        if (!textFiles.isComplete())
-        {
-            //load 1 resource at a time
-            textFiles.update(source);
-
-            //exit method so progress can be drawn
-            return;
-        }
-        
-        //verify all existing keys are contained in the xml file
-        audio.verifyLocations(GameAudio.Keys.values());
-        
-        //verify all existing keys are contained in the xml file
-        images.verifyLocations(GameImages.Keys.values());
-        
-        //verify all existing keys are contained in the xml file
-        textFiles.verifyLocations(GameText.Keys.values());
-        
-        //verify all existing keys are contained in the xml file
-        fonts.verifyLocations(GameFont.Keys.values());
-        
-        //we are done loading the resources
-        this.loading = false;
-    }
-    
-    /**
-     * Checks to see if audio is turned on
-     * @return 
-     */
-    public boolean isAudioEnabled()
-    {
-        return audio.isEnabled();
-    }
-    
-    /**
-     * Set the audio enabled/disabled. <br>
-     * @param boolean Is the audio enabled 
-     */
-    public void setAudioEnabled(final boolean enabled)
-    {
-        audio.setEnabled(enabled);
-    }
-    
-    /**
-     * Get the specified Image
-     * @param key
-     * @return Image
-     */
-    public Image getGameImage(final Object key)
-    {
-        return images.get(key);
-    }
-    
-    /**
-     * Get the text file
-     * @param key The unique key of the text file we want
-     * @return Text file
-     */
-    public Text getGameText(final Object key)
-    {
-        return textFiles.get(key);
-    }
-    
-    /**
-     * Play game audio with no loop
-     * @param key The unique key of the audio we want to play
-     */
-    public void playGameAudio(final Object key)
-    {
-        playGameAudio(key, false);
-    }
-    
-    /**
-     * Play game audio
-     * @param key The unique key of the audio we want to play
-     * @param loop Does the audio loop
-     */
-    public void playGameAudio(final Object key, final boolean loop)
-    {
-        audio.play(key, loop);
-    }
-    
-    /**
-     * Stop playing audio
-     * @param key The unique key of the audio we want to stop playing
-     */
-    public void stopGameAudio(final Object key)
-    {
-        audio.stop(key);
-    }
-    
-    /**
-     * Get the game font
-     * @param key The unique key of the object we want
-     * @return The specified game font
-     */
-    public Font getGameFont(final Object key)
-    {
-        return fonts.get(key);
-    }
-    
-    public void setFont(final Object key, final Font font)
-    {
-        fonts.set(key, font);
-    }
-    
-    @Override
-    public void dispose()
-    {
-        if (audio != null)
-        {
-            audio.dispose();
-            audio = null;
-        }
-        
-        if (images != null)
-        {
-            images.dispose();
-            images = null;
-        }
-        
-        if (textFiles != null)
-        {
-            textFiles.dispose();
-            textFiles = null;
-        }
-        
-        if (fonts != null)
-        {
-            fonts.dispose();
-            fonts = null;
-        }
-    }
-    
-    @Override
-    public void render(final Graphics graphics, final Rectangle screen)
-    {
-        if (!isLoading())
-            return;
-        
-        if (audio != null)
-        {
-            if (!audio.isComplete())
-            {
-                audio.render(graphics, screen);
-                return;
-            }
-        }
-        
-        if (images != null)
-        {
-            if (!images.isComplete())
-            {
-                images.render(graphics, screen);
-                return;
-            }
-        }
-        
-        if (textFiles != null)
-        {
-            if (!textFiles.isComplete())
-            {
-                textFiles.render(graphics, screen);
-                return;
-            }
-        }
-        
-        if (fonts != null)
-        {
-            if (!fonts.isComplete())
-            {
-                fonts.render(graphics, screen);
-                return;
-            }
-        }
-    }
+package com.gamesbykevin.tetris.resources;
+
+import com.gamesbykevin.framework.resources.*;
+
+import com.gamesbykevin.tetris.shared.Trace;
+
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Image;
+import java.awt.Rectangle;
+
+/**
+ * This class will load all resources in the collection and provide a way to access them
+ * @author GOD
+ */
+public final class Resources implements IResources
+{
+    //root directory of all resources
+    private static final String RESOURCE_DIR = "resources/"; 
+    
+    //where our configuration file that contains the resource locations
+    public static final String XML_CONFIG_GAME_AUDIO = RESOURCE_DIR + "gameAudio.xml"; 
+    public static final String XML_CONFIG_GAME_FONT  = RESOURCE_DIR + "gameFont.xml"; 
+    public static final String XML_CONFIG_GAME_IMAGE = RESOURCE_DIR + "gameImage.xml"; 
+    public static final String XML_CONFIG_GAME_TEXT  = RESOURCE_DIR + "gameText.xml"; 
+    public static final String XML_CONFIG_MENU       = RESOURCE_DIR + "menu.xml"; 
+    
+    //are we loading resources
+    private boolean loading = true;
+    
+    //the position in the xml file of the next resource loaded by the current manager
+    private int index = 0;
+    
+    //objects that contain resources
+    private GameAudio audio;
+    private GameImages images;
+    private GameFont fonts;
+    private GameText textFiles;
+    
+    public Resources() throws Exception
+    {
+        //object to contain audio resources
+        this.audio = new GameAudio();
+        
+        //object to contain images resources
+        this.images = new GameImages();
+        
+        //object to contain font resources
+        this.fonts = new GameFont();
+        
+        //object to contain text resources
+        this.textFiles = new GameText();
+    }
+    
+    /**
+     * Are we loading resources?
+     * @return true if yes, false otherwise
+     */
+    @Override
+    public boolean isLoading()
+    {
+        return loading;
+    }
+    
+    /**
+     * Stop all sound
+     */
+    public void stopAllSound()
+    {
+        audio.stopAll();
+    }
+    
+    /**
+     * Record which resource was loaded and how long it took if tracing is on
+     * @param start The time loading started (nanoseconds)
+     * @param complete Has the manager loaded every resource
+     * @param name The description of the manager
+     */
+    private void loaded(final long start, final boolean complete, final String name)
+    {
+        //the value is the position of the resource in the xml file of the manager
+        if (Trace.ENABLED)
+            Trace.record(Trace.RESOURCE, index, System.nanoTime() - start, name);
+        
+        //the next manager starts with its first resource
+        index = (complete) ? 0 : index + 1;
+    }
+    
+    /**
+     * Here we will load the resources one by one and then marking the process finished once done
+     * @param source Class in root directory of project so we have a relative location so we know how to access resources
+     * @throws Exception 
+     */
+    @Override
+    public void update(final Class source) throws Exception
+    {
+        if (!audio.isComplete())
+        {
+            final long start = System.nanoTime();
+            
+            //load 1 resource at a time
+            audio.update(source);
+            
+            loaded(start, audio.isComplete(), "audio");
+            
+            //exit method so progress can be drawn
+            return;
+        }
+        
+        if (!images.isComplete())
+        {
+            final long start = System.nanoTime();
+            
+            //load 1 resource at a time
+            images.update(source);
+            
+            loaded(start, images.isComplete(), "images");
+            
+            //exit method so progress can be drawn
+            return;
+        }
+        
+        if (!fonts.isComplete())
+        {
+            final long start = System.nanoTime();
+            
+            //load 1 resource at a time
+            fonts.update(source);
+            
+            loaded(start, fonts.isComplete(), "fonts");
+            
+            //exit method so progress can be drawn
+            return;
+        }
+        
+        if (!textFiles.isComplete())
+        {
+            final long start = System.nanoTime();
+            
+            //load 1 resource at a time
+            textFiles.update(source);
+            
+            loaded(start, textFiles.isComplete(), "textFiles");
+            
+            //exit method so progress can be drawn
+            return;
+        }
+        
+        //verify all existing keys are contained in the xml file
+        audio.verifyLocations(GameAudio.Keys.values());
+        
+        //verify all existing keys are contained in the xml file
+        images.verifyLocations(GameImages.Keys.values());
+        
+        //verify all existing keys are contained in the xml file
+        textFiles.verifyLocations(GameText.Keys.values());
+        
+        //verify all existing keys are contained in the xml file
+        fonts.verifyLocations(GameFont.Keys.values());
+        
+        //we are done loading the resources
+        this.loading = false;
+    }
+    
+    /**
+     * Checks to see if audio is turned on
+     * @return 
+     */
+    public boolean isAudioEnabled()
+    {
+        return audio.isEnabled();
+    }
+    
+    /**
+     * Set the audio enabled/disabled. <br>
+     * @param boolean Is the audio enabled 
+     */
+    public void setAudioEnabled(final boolean enabled)
+    {
+        audio.setEnabled(enabled);
+    }
+    
+    /**
+     * Get the specified Image
+     * @param key
+     * @return Image
+     */
+    public Image getGameImage(final Object key)
+    {
+        return images.get(key);
+    }
+    
+    /**
+     * Get the text file
+     * @param key The unique key of the text file we want
+     * @return Text file
+     */
+    public Text getGameText(final Object key)
+    {
+        return textFiles.get(key);
+    }
+    
+    /**
+     * Play game audio with no loop
+     * @param key The unique key of the audio we want to play
+     */
+    public void playGameAudio(final Object key)
+    {
+        playGameAudio(key, false);
+    }
+    
+    /**
+     * Play game audio
+     * @param key The unique key of the audio we want to play
+     * @param loop Does the audio loop
+     */
+    public void playGameAudio(final Object key, final boolean loop)
+    {
+        audio.play(key, loop);
+    }
+    
+    /**
+     * Stop playing audio
+     * @param key The unique key of the audio we want to stop playing
+     */
+    public void stopGameAudio(final Object key)
+    {
+        audio.stop(key);
+    }
+    
+    /**
+     * Get the game font
+     * @param key The unique key of the object we want
+     * @return The specified game font
+     */
+    public Font getGameFont(final Object key)
+    {
+        return fonts.get(key);
+    }
+    
+    public void setFont(final Object key, final Font font)
+    {
+        fonts.set(key, font);
+    }
+    
+    @Override
+    public void dispose()
+    {
+        if (audio != null)
+        {
+            audio.dispose();
+            audio = null;
+        }
+        
+        if (images != null)
+        {
+            images.dispose();
+            images = null;
+        }
+        
+        if (textFiles != null)
+        {
+            textFiles.dispose();
+            textFiles = null;
+        }
+        
+        if (fonts != null)
+        {
+            fonts.dispose();
+            fonts = null;
+        }
+    }
+    
+    @Override
+    public void render(final Graphics graphics, final Rectangle screen)
+    {
+        if (!isLoading())
+            return;
+        
+        if (audio != null)
+        {
+            if (!audio.isComplete())
+            {
+                audio.render(graphics, screen);
+                return;
+            }
+        }
+        
+        if (images != null)
+        {
+            if (!images.isComplete())
+            {
+                images.render(graphics, screen);
+                return;
+            }
+        }
+        
+        if (textFiles != null)
+        {
+            if (!textFiles.isComplete())
+            {
+                textFiles.render(graphics, screen);
+                return;
+            }
+        }
+        
+        if (fonts != null)
+        {
+            if (!fonts.isComplete())
+            {
+                fonts.render(graphics, screen);
+                return;
+            }
+        }
+    }
 }
\ No newline at end of file
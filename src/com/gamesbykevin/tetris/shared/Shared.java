@@ -1,40 +1,67 @@
-package com.gamesbykevin.tetris.shared;
-
-import java.awt.Cursor;
-import java.awt.Point;
-import java.awt.Toolkit;
-import java.awt.image.BufferedImage;
-
-/**
- * This Shared class will have shared objects
- * 
- * @author GOD
- */
-public final class Shared 
-{
-    //show UPS counter and other DEBUG info
-    public static final boolean DEBUG = false;
-    
-    /**
-     * These dimensions is the size of the game window the user will see.
-     * NOTE: If these dimensions do not match the original then the mouse input will be off.
-     */
-    public static final int INITIAL_WIDTH  = 768;
-    public static final int INITIAL_HEIGHT = 512;
-    
-    //the game is originally programmed for these dimensions
-    public static final int ORIGINAL_WIDTH  = 768;
-    public static final int ORIGINAL_HEIGHT = 512;
-    
-    //do we hide mouse when the menu is not visible and actual gameplay has started
-    public static boolean HIDE_MOUSE = true;
-    
-    //how many updates per second, controls speed of game
-    public static final int DEFAULT_UPS = 30;
-    
-    //what is the name of our game
-    public static final String GAME_NAME = "Tetris";
-    
-    //blank cursor created here to hide the mouse cursor
-    public static final Cursor CURSOR = Toolkit.getDefaultToolkit().createCustomCursor(new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB), new Point(0, 0), "blank cursor");
+package com.gamesbykevin.tetris.shared;
+
+import java.awt.Cursor;
+import java.awt.Point;
+import java.awt.Toolkit;
+import java.awt.image.BufferedImage;
+
+/**
+ * This Shared class will have shared objects
+ * 
+ * @author GOD
+ */
+public final class Shared 
+{
+    //show UPS counter and other DEBUG info
+    public static final boolean DEBUG = false;
+    
+    /**
+     * These dimensions is the size of the game window the user will see.
+     * NOTE: If these dimensions do not match the original then the mouse input will be off.
+     */
+    public static final int INITIAL_WIDTH  = 768;
+    public static final int INITIAL_HEIGHT = 512;
+    
+    //the game is originally programmed for these dimensions
+    public static final int ORIGINAL_WIDTH  = 768;
+    public static final int ORIGINAL_HEIGHT = 512;
+    
+    //do we hide mouse when the menu is not visible and actual gameplay has started
+    public static boolean HIDE_MOUSE = true;
+    
+    //do we only scale the game window by whole numbers in full screen, the area around the game is filled black
+    public static boolean INTEGER_SCALE = false;
+    
+    //how many updates per second, controls speed of game
+    public static final int DEFAULT_UPS = 30;
+    
+    //how many frames are rendered per second, independent of the speed of the game
+    public static final int DEFAULT_FPS = 60;
+    
+    //the most updates in a row before a frame is rendered when the game falls behind
+    public static final int DEFAULT_MAX_UPDATES_PER_FRAME = 5;
+    
+    //the most frames in a row that are skipped when the game falls behind
+    public static final int DEFAULT_MAX_FRAME_SKIP = 2;
+    
+    //where the recordings are written, a new directory or gif is created for each recording
+    public static final String RECORDING_DIRECTORY = "recordings";
+    
+    //the format of each recording, png for each frame or a single animated gif
+    public static final String RECORDING_FORMAT = "png";
+    
+    //the number of frames that can wait to be written before frames are dropped
+    public static final int RECORDING_BUFFERS = 8;
+    
+    //the file the game loop timings are written to when the game exits
+    public static final String TIMINGS_FILE = "timings.csv";
+    
+    //the file the game events are written to when the game exits, only when started with -Dtetris.trace=true
+    public static final String TRACE_FILE = "trace.csv";
+    
+    //what is the name of our game
+    public static final String GAME_NAME = "Tetris";
+    
+    //blank cursor created here to hide the mouse cursor
+    public static final Cursor CURSOR = Toolkit.getDefaultToolkit().createCustomCursor(new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB), new Point(0, 0), "blank cursor");
 }
\ No newline at end of file
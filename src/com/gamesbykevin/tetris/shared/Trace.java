@@ -0,0 +1,161 @@
+package com.gamesbykevin.tetris.shared;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records game events in a fixed ring buffer, so they can be lined up with garbage collection pauses and slow frames.<br>
+ * Tracing is turned on by starting the application with -Dtetris.trace=true.<br>
+ * Every call is expected to be guarded by ENABLED, which is a constant, so the events cost nothing when tracing is off.<br>
+ * The time of each event is in milliseconds since the virtual machine started, the same as the -XX:+PrintGCTimeStamps log
+ * @author GOD
+ */
+public final class Trace
+{
+    /**
+     * Are the events recorded
+     */
+    public static final boolean ENABLED = isRequested();
+    
+    /**
+     * The types of events
+     */
+    public static final int SPAWN = 0;
+    public static final int LOCK = 1;
+    public static final int CLEAR = 2;
+    public static final int SEARCH = 3;
+    public static final int RESOURCE = 4;
+    
+    //the name of each type of event
+    private static final String[] NAMES = {"spawn", "lock", "clear", "search", "resource"};
+    
+    //the number of events kept, the oldest events are replaced once full
+    private static final int CAPACITY = (1 << 16);
+    
+    //used to locate the slot of an event
+    private static final int MASK = CAPACITY - 1;
+    
+    //the events, only created when tracing is on
+    private static final int[] TYPES = new int[ENABLED ? CAPACITY : 0];
+    private static final long[] TIMES = new long[ENABLED ? CAPACITY : 0];
+    private static final long[] DURATIONS = new long[ENABLED ? CAPACITY : 0];
+    private static final long[] VALUES = new long[ENABLED ? CAPACITY : 0];
+    private static final Object[] DETAILS = new Object[ENABLED ? CAPACITY : 0];
+    
+    //the number of events recorded, events are recorded from more than 1 thread
+    private static final AtomicLong COUNT = new AtomicLong();
+    
+    //the time tracing started, used to convert the event time to the time since the virtual machine started
+    private static final long START_NANOS = System.nanoTime();
+    private static final long START_UPTIME = getUptime();
+    
+    private Trace()
+    {
+        //only static methods
+    }
+    
+    /**
+     * Was tracing requested when the application started
+     * @return true if the tetris.trace property is true, false otherwise
+     */
+    private static boolean isRequested()
+    {
+        try
+        {
+            return Boolean.getBoolean("tetris.trace");
+        }
+        catch (SecurityException e)
+        {
+            //an applet may not be allowed to read the property
+            return false;
+        }
+    }
+    
+    /**
+     * Get the time the virtual machine has been running
+     * @return The time in milliseconds, 0 if not available
+     */
+    private static long getUptime()
+    {
+        try
+        {
+            return ManagementFactory.getRuntimeMXBean().getUptime();
+        }
+        catch (SecurityException e)
+        {
+            return 0;
+        }
+    }
+    
+    /**
+     * Record an event that happened now
+     * @param type The type of event
+     * @param value The value of the event, depends on the type
+     */
+    public static void record(final int type, final long value)
+    {
+        record(type, value, 0, null);
+    }
+    
+    /**
+     * Record an event that has just finished
+     * @param type The type of event
+     * @param value The value of the event, depends on the type
+     * @param duration How long the event took (nanoseconds)
+     * @param detail Object describing the event, it is only converted to text when the events are written
+     */
+    public static void record(final int type, final long value, final long duration, final Object detail)
+    {
+        if (!ENABLED)
+            return;
+        
+        final int slot = (int)(COUNT.getAndIncrement() & MASK);
+        
+        TYPES[slot] = type;
+        TIMES[slot] = System.nanoTime();
+        DURATIONS[slot] = duration;
+        VALUES[slot] = value;
+        DETAILS[slot] = detail;
+    }
+    
+    /**
+     * Write the events in the order they were recorded.<br>
+     * Nothing is written if tracing is off
+     * @param file The file we are writing to
+     * @throws Exception if the file can't be written
+     */
+    public static void dump(final File file) throws Exception
+    {
+        if (!ENABLED)
+            return;
+        
+        final PrintWriter writer = new PrintWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"));
+        
+        try
+        {
+            writer.println("uptime_ms,event,value,duration_us,detail");
+            
+            final long count = COUNT.get();
+            
+            //only the most recent events are still in the buffer
+            for (long index = Math.max(0, count - CAPACITY); index < count; index++)
+            {
+                final int slot = (int)(index & MASK);
+                
+                final double uptime = START_UPTIME + ((TIMES[slot] - START_NANOS) / 1000000.0);
+                
+                writer.println(String.format(Locale.ROOT, "%.3f", uptime) + "," + NAMES[TYPES[slot]] + "," + VALUES[slot] + "," +
+                    (DURATIONS[slot] / 1000) + "," + ((DETAILS[slot] == null) ? "" : DETAILS[slot]));
+            }
+        }
+        finally
+        {
+            writer.close();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,263 @@
+package com.gamesbykevin.tetris.tools;
+
+import com.gamesbykevin.tetris.ai.Placement;
+import com.gamesbykevin.tetris.ai.Search;
+import com.gamesbykevin.tetris.board.Board;
+import com.gamesbykevin.tetris.game.Game;
+import com.gamesbykevin.tetris.player.Cpu;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Command line check that the game loop does not allocate once it is running.<br>
+ * A seeded headless game is played by the cpu search one row per tick, with a board drawing the blocks,
+ * and the bytes allocated by every thread are measured after a warm up, so the threads of a parallel search are counted.<br>
+ * The search is configured the same as a cpu player, and each search depth is checked unless a depth is given.<br>
+ * The check fails with exit code 1 if the bytes per tick are above the threshold, so the build fails on a regression.<br>
+ * Usage: AllocationCheck [-ticks n] [-warmup n] [-seed n] [-depth 1|2] [-parallel true|false] [-threshold bytes]
+ * @author GOD
+ */
+public final class AllocationCheck
+{
+    //the number of ticks measured
+    private int ticks = 200000;
+    
+    //the number of ticks played before measuring, so the search table, lazy objects and compiled code are in place
+    private int warmup = 50000;
+    
+    //the seed of the game
+    private long seed = 0;
+    
+    //the search depth checked, 0 to check every depth
+    private int depth = 0;
+    
+    //does the search split across threads, null to decide the same as the cpu
+    private Boolean parallel = null;
+    
+    //the most bytes allowed per tick, the search still creates 1 placement for each piece
+    private double threshold = 8;
+    
+    //the number of placements searched
+    private int decisions = 0;
+    
+    /**
+     * Parse the command line arguments
+     * @param args The arguments
+     * @throws Exception if an argument is not recognized or is missing a value
+     */
+    private AllocationCheck(final String[] args) throws Exception
+    {
+        for (int i = 0; i < args.length; i++)
+        {
+            if (i + 1 >= args.length)
+                throw new Exception("Missing value for " + args[i]);
+            
+            final String value = args[++i];
+            
+            switch (args[i - 1])
+            {
+                case "-ticks":
+                    ticks = Integer.parseInt(value);
+                    break;
+                
+                case "-warmup":
+                    warmup = Integer.parseInt(value);
+                    break;
+                
+                case "-seed":
+                    seed = Long.parseLong(value);
+                    break;
+                
+                case "-depth":
+                    depth = Integer.parseInt(value);
+                    break;
+                
+                case "-parallel":
+                    parallel = Boolean.valueOf(value);
+                    break;
+                
+                case "-threshold":
+                    threshold = Double.parseDouble(value);
+                    break;
+                
+                default:
+                    throw new Exception("Argument is not setup = " + args[i - 1]);
+            }
+        }
+        
+        if (ticks < 1 || warmup < 0)
+            throw new Exception("Ticks must be at least 1 and warmup can't be negative");
+        
+        if (depth < 0 || depth > Search.MAX_DEPTH)
+            throw new Exception("Depth must be between 1 and " + Search.MAX_DEPTH + ", or 0 for every depth, depth = " + depth);
+    }
+    
+    /**
+     * Advance the game 1 tick, placing the current piece first if it was just created
+     * @param game The game we are playing
+     * @param search The search used to locate the best placement
+     * @param pieceCount The number of pieces the game had created at the previous tick
+     * @return The number of pieces the game has created
+     */
+    private int tick(final Game game, final Search search, final int pieceCount)
+    {
+        //start over once the board has crashed, the same as a new round
+        if (game.hasGameover())
+            game.reset();
+        
+        //locate the placement when a piece is created, the same as the cpu
+        if (game.hasPiece() && game.getPieceCount() != pieceCount)
+        {
+            final Placement placement = search.find(game.getBits(), game.getPieceType(), game.getRotation(), game.getNextType());
+            
+            decisions++;
+            
+            if (placement != null)
+            {
+                //rotate until we are at our target rotation, or we can't rotate
+                while (game.getRotation() != placement.getRotation() && game.rotate())
+                {
+                    //keep rotating
+                }
+                
+                //move east until we are at our target column, or we can't move
+                while (game.getCol() < placement.getCol() && game.moveRight())
+                {
+                    //keep moving
+                }
+                
+                //move west until we are at our target column, or we can't move
+                while (game.getCol() > placement.getCol() && game.moveLeft())
+                {
+                    //keep moving
+                }
+            }
+        }
+        
+        final int count = game.getPieceCount();
+        
+        //the piece drops 1 row, or is placed if it can't
+        game.tick();
+        
+        return count;
+    }
+    
+    /**
+     * Get the bytes allocated by every thread that is still running
+     * @param allocations Object measuring the allocations
+     * @return The total bytes
+     */
+    static long getAllocatedBytes(final com.sun.management.ThreadMXBean allocations)
+    {
+        final long[] bytes = allocations.getThreadAllocatedBytes(allocations.getAllThreadIds());
+        
+        long total = 0;
+        
+        for (int i = 0; i < bytes.length; i++)
+        {
+            //a thread that has ended is -1
+            if (bytes[i] > 0)
+                total += bytes[i];
+        }
+        
+        return total;
+    }
+    
+    /**
+     * Check every search depth, or the depth given
+     * @return true if the bytes per tick are within the threshold at every depth, false otherwise
+     * @throws Exception if allocations can't be measured on this virtual machine
+     */
+    private boolean run() throws Exception
+    {
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        
+        if (!(threads instanceof com.sun.management.ThreadMXBean) || !((com.sun.management.ThreadMXBean)threads).isThreadAllocatedMemorySupported())
+            throw new Exception("Thread allocations can't be measured on this virtual machine");
+        
+        final com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean)threads;
+        allocations.setThreadAllocatedMemoryEnabled(true);
+        
+        boolean result = true;
+        
+        for (int tmpDepth = 1; tmpDepth <= Search.MAX_DEPTH; tmpDepth++)
+        {
+            if (depth != 0 && depth != tmpDepth)
+                continue;
+            
+            if (!run(allocations, tmpDepth))
+                result = false;
+        }
+        
+        return result;
+    }
+    
+    /**
+     * Play the ticks and check the bytes allocated
+     * @param allocations Object measuring the allocations
+     * @param searchDepth The search depth
+     * @return true if the bytes per tick are within the threshold, false otherwise
+     * @throws Exception if the depth is not supported
+     */
+    private boolean run(final com.sun.management.ThreadMXBean allocations, final int searchDepth) throws Exception
+    {
+        //the game with a board drawing the blocks, the same as a player
+        final Game game = new Game(new Random(seed));
+        final Board board = new Board();
+        game.addListener(board);
+        
+        //search the same way the cpu does
+        final Search search = new Search(Cpu.WEIGHT_AGGREGATE_HEIGHT, Cpu.WEIGHT_COMPLETED_LINES, Cpu.WEIGHT_HOLES, Cpu.WEIGHT_BUMPINESS);
+        Cpu.configure(search, searchDepth);
+        
+        if (parallel != null)
+            search.setParallel(parallel);
+        
+        int pieceCount = -1;
+        
+        for (int i = 0; i < warmup; i++)
+        {
+            pieceCount = tick(game, search, pieceCount);
+        }
+        
+        decisions = 0;
+        
+        final long before = getAllocatedBytes(allocations);
+        
+        for (int i = 0; i < ticks; i++)
+        {
+            pieceCount = tick(game, search, pieceCount);
+        }
+        
+        final long bytes = getAllocatedBytes(allocations) - before;
+        
+        final double perTick = bytes / (double)ticks;
+        
+        System.out.println(String.format(Locale.ROOT, "Depth = %d, parallel = %b, ticks = %d, bytes = %d, bytes per tick = %.3f, bytes per decision = %.1f, threshold = %.3f",
+            searchDepth, search.isParallel(), ticks, bytes, perTick, bytes / (double)Math.max(1, decisions), threshold));
+        
+        board.dispose();
+        
+        return (perTick <= threshold);
+    }
+    
+    public static void main(String[] args)
+    {
+        try
+        {
+            if (!new AllocationCheck(args).run())
+            {
+                System.err.println("The game loop allocates more than the threshold");
+                System.exit(1);
+            }
+        }
+        catch (Exception e)
+        {
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+}
\ No newline at end of file
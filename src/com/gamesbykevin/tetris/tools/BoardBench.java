@@ -0,0 +1,537 @@
+package com.gamesbykevin.tetris.tools;
+
+import com.gamesbykevin.tetris.ai.Agent;
+import com.gamesbykevin.tetris.ai.Search;
+import com.gamesbykevin.tetris.board.Board;
+import com.gamesbykevin.tetris.board.piece.Piece;
+import com.gamesbykevin.tetris.board.piece.Shapes;
+import com.gamesbykevin.tetris.game.Game;
+import com.gamesbykevin.tetris.game.IGame;
+import com.gamesbykevin.tetris.game.IGameListener;
+import com.gamesbykevin.tetris.player.Cpu;
+
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Command line runner that times the Board primitives over a corpus of boards at different fill levels.<br>
+ * The corpus is taken from seeded games where the cpu makes a random move some of the time, so the boards fill up to the top.<br>
+ * Each board is saved once per fill level after a piece is placed, and again if the piece completed a row.<br>
+ * Every measurement is warmed up first, and the methods that change the board copy the source board before each call.<br>
+ * The time of that copy is reported as its own operation so it can be subtracted.<br>
+ * Usage: BoardBench [-seed n] [-boards n] [-noise 0-1] [-warmup ms] [-time ms] [-out file]
+ * @author GOD
+ */
+public final class BoardBench
+{
+    //the fill levels, by the height of the highest column
+    private static final String[] LEVELS = {"empty", "low", "mid", "high", "topout"};
+    private static final int[] LEVEL_HEIGHT = {0, 1, 6, 11, 16};
+    
+    //the most games played to fill the corpus
+    private static final int MAX_GAMES = 1000;
+    
+    //the number of calls between checking the time
+    private static final int BATCH = 256;
+    
+    //the seed of the first game
+    private long seed = 0;
+    
+    //the number of boards saved for each fill level
+    private int boards = 32;
+    
+    //the chance the cpu makes a random move instead of the best move
+    private double noise = 0.5;
+    
+    //how long each measurement is warmed up and timed (milliseconds)
+    private long warmup = 200;
+    private long time = 500;
+    
+    //the file the results are written to, null for the console
+    private String out = null;
+    
+    //the boards for each fill level
+    private final List<List<Board>> corpus = new ArrayList<>();
+    
+    //the boards for each fill level with at least 1 completed row
+    private final List<List<Board>> completed = new ArrayList<>();
+    
+    //the completed boards after the rows are removed, so the blocks above need to drop
+    private final List<List<Board>> cleared = new ArrayList<>();
+    
+    //the result of every call is added here, so the calls can't be skipped
+    private long sink = 0;
+    
+    /**
+     * Saves the board after each piece is placed
+     */
+    private final class Collector implements IGameListener
+    {
+        //the board following the game
+        private final Board board;
+        
+        private Collector(final Board board)
+        {
+            this.board = board;
+        }
+        
+        @Override
+        public void onLock(final IGame game, final int type, final int rotation, final int col, final int row)
+        {
+            final int level = getLevel(board);
+            
+            if (corpus.get(level).size() < boards)
+                corpus.get(level).add(copy(board));
+            
+            if (board.hasComplete() && completed.get(level).size() < boards)
+            {
+                completed.get(level).add(copy(board));
+                
+                //the rows are removed, but the blocks above are not dropped yet
+                final Board source = copy(board);
+                source.clearCompletedRows();
+                cleared.get(level).add(source);
+            }
+        }
+        
+        @Override
+        public void onClear(final IGame game, final int rows)
+        {
+            //nothing is saved here
+        }
+        
+        @Override
+        public void onGameover(final IGame game)
+        {
+            //nothing is saved here
+        }
+        
+        @Override
+        public void onReset(final IGame game)
+        {
+            //nothing is saved here
+        }
+    }
+    
+    /**
+     * A method of the board being timed
+     */
+    private abstract class Operation
+    {
+        //the name of the method
+        private final String name;
+        
+        //does the method change the board, so the source is copied before each call
+        private final boolean copies;
+        
+        private Operation(final String name, final boolean copies)
+        {
+            this.name = name;
+            this.copies = copies;
+        }
+        
+        /**
+         * Call the method once
+         * @param board The board
+         * @param piece The piece to check, located on the board
+         * @return The result of the method, or 0 if there is none
+         */
+        protected abstract int call(final Board board, final Piece piece);
+    }
+    
+    /**
+     * Parse the command line arguments
+     * @param args The arguments
+     * @throws Exception if an argument is not recognized or is missing a value
+     */
+    private BoardBench(final String[] args) throws Exception
+    {
+        for (int i = 0; i < args.length; i++)
+        {
+            if (i + 1 >= args.length)
+                throw new Exception("Missing value for " + args[i]);
+            
+            final String value = args[++i];
+            
+            switch (args[i - 1])
+            {
+                case "-seed":
+                    seed = Long.parseLong(value);
+                    break;
+                
+                case "-boards":
+                    boards = Integer.parseInt(value);
+                    break;
+                
+                case "-noise":
+                    noise = Double.parseDouble(value);
+                    break;
+                
+                case "-warmup":
+                    warmup = Long.parseLong(value);
+                    break;
+                
+                case "-time":
+                    time = Long.parseLong(value);
+                    break;
+                
+                case "-out":
+                    out = value;
+                    break;
+                
+                default:
+                    throw new Exception("Argument is not setup = " + args[i - 1]);
+            }
+        }
+        
+        if (boards < 1 || time < 1)
+            throw new Exception("Boards and time must be at least 1");
+    }
+    
+    /**
+     * Get the fill level of the board
+     * @param board The board
+     * @return The index of the fill level
+     */
+    private static int getLevel(final Board board)
+    {
+        int height = 0;
+        
+        for (int col = 0; col < Board.COLS; col++)
+        {
+            height = Math.max(height, board.getBits().getColumnHeight(col));
+        }
+        
+        for (int level = LEVELS.length - 1; level > 0; level--)
+        {
+            if (height >= LEVEL_HEIGHT[level])
+                return level;
+        }
+        
+        return 0;
+    }
+    
+    /**
+     * Create a copy of the board
+     * @param source The board we want to copy
+     * @return The new board
+     */
+    private static Board copy(final Board source)
+    {
+        final Board board = new Board();
+        board.copy(source);
+        
+        return board;
+    }
+    
+    /**
+     * Play seeded games until every fill level has enough boards, or the game limit is reached
+     * @throws Exception if a game can't be played
+     */
+    private void createCorpus() throws Exception
+    {
+        for (int level = 0; level < LEVELS.length; level++)
+        {
+            corpus.add(new ArrayList<Board>());
+            completed.add(new ArrayList<Board>());
+            cleared.add(new ArrayList<Board>());
+        }
+        
+        //there is only 1 empty board
+        corpus.get(0).add(new Board());
+        
+        final Agent agent = new Agent(new Search(Cpu.WEIGHT_AGGREGATE_HEIGHT, Cpu.WEIGHT_COMPLETED_LINES, Cpu.WEIGHT_HOLES, Cpu.WEIGHT_BUMPINESS));
+        
+        for (int index = 0; index < MAX_GAMES && !isCorpusFull(); index++)
+        {
+            final Random random = new Random(seed + index);
+            
+            //the board follows the game, and the collector saves the board after it has been updated
+            final Game game = new Game(random);
+            final Board board = new Board();
+            game.addListener(board);
+            game.addListener(new Collector(board));
+            
+            while (!game.hasGameover())
+            {
+                if (!game.hasPiece())
+                {
+                    //create the next piece or remove completed rows
+                    game.tick();
+                }
+                else if (random.nextDouble() < noise)
+                {
+                    //rotate and move the piece a random amount
+                    for (int count = random.nextInt(Piece.TOTAL_ROTATIONS); count > 0; count--)
+                    {
+                        game.rotate();
+                    }
+                    
+                    final int offset = random.nextInt(Board.COLS) - (Board.COLS / 2);
+                    
+                    for (int count = Math.abs(offset); count > 0; count--)
+                    {
+                        if (offset < 0)
+                        {
+                            game.moveLeft();
+                        }
+                        else
+                        {
+                            game.moveRight();
+                        }
+                    }
+                    
+                    game.hardDrop();
+                }
+                else
+                {
+                    agent.play(game);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Does every fill level have enough boards
+     * @return true if every list is full, false otherwise
+     */
+    private boolean isCorpusFull()
+    {
+        for (int level = 1; level < LEVELS.length; level++)
+        {
+            if (corpus.get(level).size() < boards || completed.get(level).size() < boards)
+                return false;
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Create a piece for every board at a random location inside the walls
+     * @param sources The boards
+     * @param random Object used to make random decisions
+     * @return The pieces, 1 for each board
+     * @throws Exception if the piece can't be created
+     */
+    private static Piece[] createPieces(final List<Board> sources, final Random random) throws Exception
+    {
+        final Piece[] pieces = new Piece[sources.size()];
+        
+        for (int i = 0; i < pieces.length; i++)
+        {
+            final Piece piece = new Piece(0, 0, random.nextInt(Shapes.getTypeCount()));
+            piece.setRotations(random.nextInt(Piece.TOTAL_ROTATIONS));
+            
+            //move the piece until it is inside the walls
+            do
+            {
+                piece.setCol(random.nextInt(Board.COLS));
+                piece.setRow(random.nextInt(Board.ROWS));
+            }
+            while (!sources.get(i).hasBounds(piece));
+            
+            pieces[i] = piece;
+        }
+        
+        return pieces;
+    }
+    
+    /**
+     * Call the method on every board until the time has passed
+     * @param operation The method
+     * @param sources The boards
+     * @param pieces The piece for each board
+     * @param scratch The board the source is copied to when the method changes the board
+     * @param duration How long to keep calling (milliseconds)
+     * @return The average time of each call (nanoseconds)
+     */
+    private double measure(final Operation operation, final List<Board> sources, final Piece[] pieces, final Board scratch, final long duration)
+    {
+        final long start = System.nanoTime();
+        final long end = start + (duration * 1000000L);
+        
+        long calls = 0;
+        long now;
+        
+        do
+        {
+            for (int count = 0; count < BATCH; count++)
+            {
+                final int index = (int)(calls % sources.size());
+                
+                Board board = sources.get(index);
+                
+                if (operation.copies)
+                {
+                    scratch.copy(board);
+                    board = scratch;
+                }
+                
+                sink += operation.call(board, pieces[index]);
+                calls++;
+            }
+            
+            now = System.nanoTime();
+        }
+        while (now < end);
+        
+        return (double)(now - start) / calls;
+    }
+    
+    /**
+     * Create the corpus, then time every method at every fill level and write the results
+     * @throws Exception if the corpus can't be created or the output can't be written
+     */
+    private void run() throws Exception
+    {
+        createCorpus();
+        
+        final Operation[] operations = {
+            new Operation("hasBlock", false)
+            {
+                @Override
+                protected int call(final Board board, final Piece piece)
+                {
+                    return board.hasBlock(piece) ? 1 : 0;
+                }
+            },
+            new Operation("getHoleCount", false)
+            {
+                @Override
+                protected int call(final Board board, final Piece piece)
+                {
+                    return board.getHoleCount();
+                }
+            },
+            new Operation("getBumpiness", false)
+            {
+                @Override
+                protected int call(final Board board, final Piece piece)
+                {
+                    return board.getBumpiness();
+                }
+            },
+            new Operation("getAggregateHeight", false)
+            {
+                @Override
+                protected int call(final Board board, final Piece piece)
+                {
+                    return board.getAggregateHeight();
+                }
+            },
+            new Operation("copy", true)
+            {
+                @Override
+                protected int call(final Board board, final Piece piece)
+                {
+                    return 0;
+                }
+            },
+            new Operation("clearCompletedRows", true)
+            {
+                @Override
+                protected int call(final Board board, final Piece piece)
+                {
+                    board.clearCompletedRows();
+                    return 0;
+                }
+            },
+            new Operation("dropBlocks", true)
+            {
+                @Override
+                protected int call(final Board board, final Piece piece)
+                {
+                    board.dropBlocks();
+                    return 0;
+                }
+            },
+        };
+        
+        final PrintWriter writer = (out == null) ? new PrintWriter(System.out) : new PrintWriter(new OutputStreamWriter(new FileOutputStream(out), "UTF-8"));
+        
+        final Board scratch = new Board();
+        final Random random = new Random(seed);
+        
+        try
+        {
+            writer.println("{");
+            writer.println("  \"seed\": " + seed + ", \"boards\": " + boards + ", \"noise\": " + noise + ", \"warmup_ms\": " + warmup + ", \"time_ms\": " + time + ",");
+            writer.println("  \"java\": \"" + System.getProperty("java.version") + "\", \"copy_included\": [\"copy\", \"clearCompletedRows\", \"dropBlocks\"],");
+            writer.println("  \"results\": [");
+            
+            boolean first = true;
+            
+            for (int level = 0; level < LEVELS.length; level++)
+            {
+                for (int i = 0; i < operations.length; i++)
+                {
+                    //the rows are removed from boards with completed rows, and blocks are dropped on boards with the rows removed
+                    final List<Board> sources;
+                    
+                    switch (operations[i].name)
+                    {
+                        case "clearCompletedRows":
+                            sources = completed.get(level);
+                            break;
+                        
+                        case "dropBlocks":
+                            sources = cleared.get(level);
+                            break;
+                        
+                        default:
+                            sources = corpus.get(level);
+                            break;
+                    }
+                    
+                    //this fill level did not have any boards to check
+                    if (sources.isEmpty())
+                        continue;
+                    
+                    final Piece[] pieces = createPieces(sources, random);
+                    
+                    measure(operations[i], sources, pieces, scratch, warmup);
+                    
+                    final double nanos = measure(operations[i], sources, pieces, scratch, time);
+                    
+                    writer.print((first ? "" : ",\n") + "    {\"op\": \"" + operations[i].name + "\", \"level\": \"" + LEVELS[level] +
+                        "\", \"boards\": " + sources.size() + ", \"ns_per_op\": " + String.format(Locale.ROOT, "%.2f", nanos) + "}");
+                    writer.flush();
+                    
+                    first = false;
+                }
+            }
+            
+            writer.println();
+            writer.println("  ]");
+            writer.println("}");
+            
+            //use the results so the calls can't be removed
+            System.err.println("Checksum = " + sink);
+        }
+        finally
+        {
+            if (out != null)
+                writer.close();
+            else
+                writer.flush();
+        }
+    }
+    
+    public static void main(String[] args)
+    {
+        try
+        {
+            new BoardBench(args).run();
+        }
+        catch (Exception e)
+        {
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,362 @@
+package com.gamesbykevin.tetris.tools;
+
+import com.gamesbykevin.tetris.board.Board;
+import com.gamesbykevin.tetris.board.piece.Block;
+import com.gamesbykevin.tetris.board.piece.Piece;
+import com.gamesbykevin.tetris.board.piece.Shapes;
+import com.gamesbykevin.tetris.menu.CustomMenu;
+import com.gamesbykevin.tetris.shared.Shared;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.Random;
+import javax.imageio.ImageIO;
+
+/**
+ * Command line runner that renders the board and pieces to an image in memory, so no display is needed.<br>
+ * The board is filled with pieces dropped at seeded random rotations and columns, so the images don't depend on the cpu,
+ * then every render mode is timed and compared with the golden images stored in the golden directory.<br>
+ * While timing, the current piece moves across the board each frame like it does during play.<br>
+ * The golden images depend on the seed and the number of pieces, so check with the same values they were updated with.<br>
+ * Usage: RenderBench [-frames n] [-seed n] [-pieces n] [-golden directory] [-mode check|update|none]
+ * @author GOD
+ */
+public final class RenderBench
+{
+    //what do we do with the golden images
+    private static final String MODE_CHECK = "check";
+    private static final String MODE_UPDATE = "update";
+    private static final String MODE_NONE = "none";
+    
+    //the render modes and the name of each
+    private static final int[] RENDERS = {CustomMenu.RENDER_2D, CustomMenu.RENDER_ISOMETRIC_1, CustomMenu.RENDER_ISOMETRIC_2, CustomMenu.RENDER_ISOMETRIC_3};
+    private static final String[] NAMES = {"2d", "iso1", "iso2", "iso3"};
+    
+    //where the board is placed, the same as a single player game
+    private static final int BOARD_X_2D = 25;
+    private static final int BOARD_Y_2D = 35;
+    private static final int BOARD_X_ISO = 200;
+    private static final int BOARD_Y_ISO = 25;
+    
+    //the top rows are kept empty when filling the board, so there is room for the current piece
+    private static final int EMPTY_ROWS = 4;
+    
+    //the number of random placements tried for each piece, the lowest is used so the board fills evenly
+    private static final int SAMPLES_PER_PIECE = 16;
+    
+    //the number of frames timed for each render mode
+    private int frames = 1000;
+    
+    //the seed of the random pieces
+    private long seed = 0;
+    
+    //the number of pieces placed before rendering
+    private int pieces = 24;
+    
+    //the directory of the golden images
+    private String golden = "golden";
+    
+    //what do we do with the golden images
+    private String mode = MODE_CHECK;
+    
+    /**
+     * Parse the command line arguments
+     * @param args The arguments
+     * @throws Exception if an argument is not recognized or is missing a value
+     */
+    private RenderBench(final String[] args) throws Exception
+    {
+        for (int i = 0; i < args.length; i++)
+        {
+            if (i + 1 >= args.length)
+                throw new Exception("Missing value for " + args[i]);
+            
+            final String value = args[++i];
+            
+            switch (args[i - 1])
+            {
+                case "-frames":
+                    frames = Integer.parseInt(value);
+                    break;
+                
+                case "-seed":
+                    seed = Long.parseLong(value);
+                    break;
+                
+                case "-pieces":
+                    pieces = Integer.parseInt(value);
+                    break;
+                
+                case "-golden":
+                    golden = value;
+                    break;
+                
+                case "-mode":
+                    if (!value.equals(MODE_CHECK) && !value.equals(MODE_UPDATE) && !value.equals(MODE_NONE))
+                        throw new Exception("Mode is not setup = " + value);
+                    
+                    mode = value;
+                    break;
+                
+                default:
+                    throw new Exception("Argument is not setup = " + args[i - 1]);
+            }
+        }
+        
+        if (frames < 1)
+            throw new Exception("Frames must be at least 1");
+    }
+    
+    /**
+     * Draw a single frame the same way a player is drawn
+     * @param graphics Object used to draw
+     * @param board The board
+     * @param piece The current piece
+     * @param next The next piece
+     * @param renderIndex How do we render
+     */
+    private static void render(final Graphics graphics, final Board board, final Piece piece, final Piece next, final int renderIndex)
+    {
+        //background by itself will be a black rectangle
+        graphics.setColor(Color.BLACK);
+        graphics.fillRect(0, 0, Shared.ORIGINAL_WIDTH, Shared.ORIGINAL_HEIGHT);
+        
+        board.render(graphics, renderIndex, piece);
+        
+        double x;
+        double y;
+        
+        switch (renderIndex)
+        {
+            case CustomMenu.RENDER_2D:
+            default:
+                x = (int)(board.getX() + (next.getCol() * Block.WIDTH));
+                y = (int)(board.getY() + (next.getRow() * Block.HEIGHT));
+                break;
+            
+            case CustomMenu.RENDER_ISOMETRIC_1:
+                x = board.getX() + Block.getIsometric1X(next);
+                y = board.getY() + Block.getIsometric1Y(next);
+                break;
+            
+            case CustomMenu.RENDER_ISOMETRIC_2:
+                x = board.getX() + Block.getIsometric2X(next);
+                y = board.getY() + Block.getIsometric2Y(next);
+                break;
+        }
+        
+        next.render(graphics, x, y, renderIndex);
+    }
+    
+    /**
+     * Fill the board with pieces dropped at random rotations and columns.<br>
+     * Each piece is dropped where it lands lowest out of a few random placements, so the board fills evenly
+     * @param board The board we are filling
+     * @param random Object used to pick each piece
+     * @param pieces The number of pieces placed
+     * @throws Exception if the board is full before the pieces are placed
+     */
+    private static void fill(final Board board, final Random random, final int pieces) throws Exception
+    {
+        for (int count = 0; count < pieces; count++)
+        {
+            final int type = random.nextInt(Shapes.getTypeCount());
+            
+            //the lowest placement found, compared by the top row of the piece
+            int bestRotation = 0, bestCol = 0, bestRow = 0;
+            int bestTop = -1;
+            
+            for (int sample = 0; sample < SAMPLES_PER_PIECE; sample++)
+            {
+                final int rotation = random.nextInt(Piece.TOTAL_ROTATIONS);
+                final int col = random.nextInt(Board.COLS);
+                
+                //the piece has to be within the walls
+                if (col + Shapes.getMinCol(type, rotation) < 0 || col + Shapes.getMaxCol(type, rotation) >= Board.COLS)
+                    continue;
+                
+                //find where the piece lands
+                final int row = board.dropRow(type, rotation, col);
+                
+                if (row + Shapes.getMinRow(type, rotation) > bestTop)
+                {
+                    bestRotation = rotation;
+                    bestCol = col;
+                    bestRow = row;
+                    bestTop = row + Shapes.getMinRow(type, rotation);
+                }
+            }
+            
+            //the top rows stay empty so there is room for the current piece
+            if (bestTop < EMPTY_ROWS)
+                throw new Exception("The board is full before the pieces were placed, pieces = " + count);
+            
+            final Piece piece = new Piece(bestCol, bestRow, type);
+            piece.setRotations(bestRotation);
+            
+            board.addPiece(piece);
+        }
+    }
+    
+    /**
+     * Count the pixels that are different
+     * @param image The rendered image
+     * @param expected The golden image
+     * @return The number of different pixels, every pixel if the size is different
+     */
+    private static int compare(final BufferedImage image, final BufferedImage expected)
+    {
+        if (image.getWidth() != expected.getWidth() || image.getHeight() != expected.getHeight())
+            return image.getWidth() * image.getHeight();
+        
+        int count = 0;
+        
+        for (int y = 0; y < image.getHeight(); y++)
+        {
+            for (int x = 0; x < image.getWidth(); x++)
+            {
+                //ignore the alpha, the golden image may be stored without it
+                if ((image.getRGB(x, y) & 0xFFFFFF) != (expected.getRGB(x, y) & 0xFFFFFF))
+                    count++;
+            }
+        }
+        
+        return count;
+    }
+    
+    /**
+     * Fill the board, then time and compare every render mode
+     * @return true if every image matches the golden image, or the golden images are not checked
+     * @throws Exception if the board can't be filled or the images can't be read or written
+     */
+    private boolean run() throws Exception
+    {
+        final Random random = new Random(seed);
+        
+        final Board board = new Board();
+        fill(board, random, pieces);
+        
+        //the current piece where a new piece starts, and the next piece
+        final Piece piece = new Piece(Board.START_COL, Board.START_ROW, random.nextInt(Shapes.getTypeCount()));
+        
+        final Piece next = new Piece(Board.COLS + 2, Board.START_ROW + Board.ROWS - 3, random.nextInt(Shapes.getTypeCount()));
+        
+        //the columns the piece can be moved to without overlapping a block
+        final int[] columns = new int[Board.COLS];
+        int total = 0;
+        
+        for (int col = 0; col < Board.COLS; col++)
+        {
+            piece.setCol(col);
+            
+            if (board.hasBounds(piece) && !board.collides(piece))
+                columns[total++] = col;
+        }
+        
+        //if the piece is still above the board it stays where it starts
+        if (total == 0)
+            columns[total++] = Board.START_COL;
+        
+        final BufferedImage image = new BufferedImage(Shared.ORIGINAL_WIDTH, Shared.ORIGINAL_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        final Graphics graphics = image.getGraphics();
+        
+        boolean result = true;
+        
+        try
+        {
+            for (int i = 0; i < RENDERS.length; i++)
+            {
+                //place the board the same as a single player game
+                if (RENDERS[i] == CustomMenu.RENDER_ISOMETRIC_1)
+                {
+                    board.setLocation(BOARD_X_ISO, BOARD_Y_ISO);
+                }
+                else
+                {
+                    board.setLocation(BOARD_X_2D, BOARD_Y_2D);
+                }
+                
+                board.assignBackground();
+                
+                //time the frames with the piece moving across the board
+                final long start = System.nanoTime();
+                
+                for (int frame = 0; frame < frames; frame++)
+                {
+                    piece.setCol(columns[frame % total]);
+                    render(graphics, board, piece, next, RENDERS[i]);
+                }
+                
+                final long nanos = System.nanoTime() - start;
+                
+                //the frame compared with the golden image has the piece where it starts
+                piece.setCol(Board.START_COL);
+                render(graphics, board, piece, next, RENDERS[i]);
+                
+                final File file = new File(golden, "render-" + NAMES[i] + ".png");
+                
+                String status;
+                
+                switch (mode)
+                {
+                    case MODE_UPDATE:
+                        if (!file.getAbsoluteFile().getParentFile().isDirectory() && !file.getAbsoluteFile().getParentFile().mkdirs())
+                            throw new Exception("Golden directory can't be created = " + golden);
+                        
+                        ImageIO.write(image, "png", file);
+                        status = "updated";
+                        break;
+                    
+                    case MODE_CHECK:
+                        if (!file.isFile())
+                        {
+                            status = "missing";
+                            result = false;
+                        }
+                        else
+                        {
+                            final int different = compare(image, ImageIO.read(file));
+                            
+                            status = (different == 0) ? "match" : "different pixels = " + different;
+                            
+                            if (different != 0)
+                                result = false;
+                        }
+                        break;
+                    
+                    default:
+                        status = "not checked";
+                        break;
+                }
+                
+                System.out.println(NAMES[i] + ": fps = " + (long)(frames / (nanos / 1000000000.0)) + ", us per frame = " + (nanos / frames / 1000) + ", golden = " + status);
+            }
+        }
+        finally
+        {
+            graphics.dispose();
+            board.dispose();
+        }
+        
+        return result;
+    }
+    
+    public static void main(String[] args)
+    {
+        //there is no display
+        System.setProperty("java.awt.headless", "true");
+        
+        try
+        {
+            if (!new RenderBench(args).run())
+                System.exit(1);
+        }
+        catch (Exception e)
+        {
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+}
\ No newline at end of file
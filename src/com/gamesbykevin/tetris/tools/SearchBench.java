@@ -0,0 +1,477 @@
+package com.gamesbykevin.tetris.tools;
+
+import com.gamesbykevin.tetris.ai.Agent;
+import com.gamesbykevin.tetris.ai.Placement;
+import com.gamesbykevin.tetris.ai.Search;
+import com.gamesbykevin.tetris.ai.TranspositionTable;
+import com.gamesbykevin.tetris.board.BitBoard;
+import com.gamesbykevin.tetris.board.Board;
+import com.gamesbykevin.tetris.game.Game;
+import com.gamesbykevin.tetris.player.Cpu;
+import com.gamesbykevin.tetris.shared.Shared;
+import com.gamesbykevin.tetris.shared.Trace;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Command line runner that measures the cpu decisions over a stored corpus of positions.<br>
+ * Record mode plays seeded cpu games and stores every position with the placement the cpu chose.<br>
+ * Run mode searches every stored position the same way the cpu does, and reports the time of each decision,
+ * the bytes allocated by each decision, and how many placements match the stored placement.<br>
+ * The corpus files stored with the project are used if no corpus is given, the paths are relative to the project directory.<br>
+ * The search is configured the same as a cpu player, -parallel and -table only change it when they are given.<br>
+ * The bytes allocated by every thread are counted, so the threads of a parallel search are included.<br>
+ * Usage: SearchBench -record file [-positions n] [-seed n] [-depth 1|2] [-pieces n]<br>
+ * Usage: SearchBench [-corpus file,file...] [-rounds n] [-parallel true|false] [-table true|false] [-out file]
+ * @author GOD
+ */
+public final class SearchBench
+{
+    //identifies a corpus file, and the version of the format
+    private static final int MAGIC = 0x54505331;
+    
+    //marks a position where the cpu did not find a placement
+    private static final int NO_PLACEMENT = -1;
+    
+    //the maximum number of board states cached, the same as the cpu
+    private static final int TABLE_CAPACITY = (1 << 16);
+    
+    //the percentiles reported
+    private static final double[] PERCENTILES = {0.50, 0.90, 0.99, 0.999};
+    
+    //the corpus files stored with the project, positions recorded at depth 1 and 2
+    private static final String DEFAULT_CORPUS = "corpus/search-depth1.bin,corpus/search-depth2.bin";
+    
+    //the corpus file written in record mode
+    private String record = null;
+    
+    //the corpus files read in run mode, separated by a comma
+    private String corpus = DEFAULT_CORPUS;
+    
+    //the number of positions recorded
+    private int positions = 2000;
+    
+    //the seed of the first game
+    private long seed = 0;
+    
+    //how many pieces does the cpu look ahead
+    private int depth = 1;
+    
+    //the most pieces placed in each recorded game, so the corpus comes from several games
+    private int pieces = 200;
+    
+    //the number of times every position is searched, after 1 round to warm up
+    private int rounds = 5;
+    
+    //does the search split across threads, null to decide the same as the cpu
+    private Boolean parallel = null;
+    
+    //does the search cache the reply scores, null to decide the same as the cpu
+    private Boolean table = null;
+    
+    //the file the results are written to, null for the console
+    private String out = null;
+    
+    /**
+     * Parse the command line arguments
+     * @param args The arguments
+     * @throws Exception if an argument is not recognized or is missing a value
+     */
+    private SearchBench(final String[] args) throws Exception
+    {
+        for (int i = 0; i < args.length; i++)
+        {
+            if (i + 1 >= args.length)
+                throw new Exception("Missing value for " + args[i]);
+            
+            final String value = args[++i];
+            
+            switch (args[i - 1])
+            {
+                case "-record":
+                    record = value;
+                    break;
+                
+                case "-corpus":
+                    corpus = value;
+                    break;
+                
+                case "-positions":
+                    positions = Integer.parseInt(value);
+                    break;
+                
+                case "-seed":
+                    seed = Long.parseLong(value);
+                    break;
+                
+                case "-depth":
+                    depth = Integer.parseInt(value);
+                    break;
+                
+                case "-pieces":
+                    pieces = Integer.parseInt(value);
+                    break;
+                
+                case "-rounds":
+                    rounds = Integer.parseInt(value);
+                    break;
+                
+                case "-parallel":
+                    parallel = Boolean.valueOf(value);
+                    break;
+                
+                case "-table":
+                    table = Boolean.valueOf(value);
+                    break;
+                
+                case "-out":
+                    out = value;
+                    break;
+                
+                default:
+                    throw new Exception("Argument is not setup = " + args[i - 1]);
+            }
+        }
+        
+        if (record != null && !corpus.equals(DEFAULT_CORPUS))
+            throw new Exception("Use either -record or -corpus");
+        
+        if (positions < 1 || rounds < 1 || pieces < 1)
+            throw new Exception("Positions, rounds and pieces must be at least 1");
+    }
+    
+    /**
+     * Play seeded cpu games and write every position with the placement chosen
+     * @throws Exception if a game can't be played or the file can't be written
+     */
+    private void record() throws Exception
+    {
+        final DataOutputStream output = new DataOutputStream(new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(record))));
+        
+        try
+        {
+            output.writeInt(MAGIC);
+            output.writeInt(depth);
+            output.writeInt(positions);
+            
+            int count = 0;
+            
+            for (int index = 0; count < positions; index++)
+            {
+                final Game game = new Game(new Random(seed + index));
+                
+                final Search search = new Search(Cpu.WEIGHT_AGGREGATE_HEIGHT, Cpu.WEIGHT_COMPLETED_LINES, Cpu.WEIGHT_HOLES, Cpu.WEIGHT_BUMPINESS);
+                Cpu.configure(search, depth);
+                
+                final Agent agent = new Agent(search);
+                
+                for (int placed = 0; count < positions && placed < pieces && !game.hasGameover(); )
+                {
+                    if (!game.hasPiece())
+                    {
+                        //create the next piece or remove completed rows
+                        game.tick();
+                        continue;
+                    }
+                    
+                    //the rows of the board before the piece is placed
+                    for (int row = 0; row < Board.ROWS; row++)
+                    {
+                        output.writeShort(game.getBits().getRow(row));
+                    }
+                    
+                    output.writeByte(game.getPieceType());
+                    output.writeByte(game.getRotation());
+                    output.writeByte(game.getNextType());
+                    
+                    final Placement placement = agent.play(game);
+                    
+                    writePlacement(output, placement);
+                    
+                    placed++;
+                    count++;
+                }
+            }
+            
+            System.err.println("Positions = " + count + ", depth = " + depth + ", file = " + record);
+        }
+        finally
+        {
+            output.close();
+        }
+    }
+    
+    /**
+     * Write the placement
+     * @param output The stream we are writing to
+     * @param placement The placement, or null if there is none
+     * @throws Exception if the placement can't be written
+     */
+    private static void writePlacement(final DataOutputStream output, final Placement placement) throws Exception
+    {
+        if (placement == null)
+        {
+            output.writeByte(NO_PLACEMENT);
+            output.writeByte(0);
+            output.writeByte(0);
+        }
+        else
+        {
+            output.writeByte(placement.getRotation());
+            output.writeByte(placement.getCol());
+            output.writeByte(placement.getRow());
+        }
+    }
+    
+    /**
+     * Get the value at the percentile
+     * @param sorted The values in order
+     * @param percentile The percentile ranging from 0 - 1
+     * @return The value
+     */
+    private static long getPercentile(final long[] sorted, final double percentile)
+    {
+        final int index = (int)Math.ceil(percentile * sorted.length) - 1;
+        
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+    
+    /**
+     * Search every position in each corpus and write the results as a list
+     * @return true if every placement matches the stored placement, false otherwise
+     * @throws Exception if a corpus can't be read or the output can't be written
+     */
+    private boolean run() throws Exception
+    {
+        final PrintWriter writer = (out == null) ? new PrintWriter(System.out) : new PrintWriter(new OutputStreamWriter(new FileOutputStream(out), "UTF-8"));
+        
+        boolean result = true;
+        
+        try
+        {
+            writer.println("[");
+            
+            final String[] files = corpus.split(",");
+            
+            for (int i = 0; i < files.length; i++)
+            {
+                if (!run(files[i], writer, i == files.length - 1))
+                    result = false;
+            }
+            
+            writer.println("]");
+        }
+        finally
+        {
+            if (out != null)
+                writer.close();
+            else
+                writer.flush();
+        }
+        
+        return result;
+    }
+    
+    /**
+     * Search every position in the corpus and write the results
+     * @param corpus The corpus file
+     * @param writer Object the results are written to
+     * @param last Is this the last corpus in the list
+     * @return true if every placement matches the stored placement, false otherwise
+     * @throws Exception if the corpus can't be read
+     */
+    private boolean run(final String corpus, final PrintWriter writer, final boolean last) throws Exception
+    {
+        final DataInputStream input = new DataInputStream(new GZIPInputStream(new BufferedInputStream(new FileInputStream(corpus))));
+        
+        //the positions and the placement stored for each
+        final BitBoard[] boards;
+        final int[] types, rotations, nexts;
+        final int[] expected;
+        final int corpusDepth;
+        
+        try
+        {
+            if (input.readInt() != MAGIC)
+                throw new Exception("File is not a corpus = " + corpus);
+            
+            corpusDepth = input.readInt();
+            
+            final int count = input.readInt();
+            
+            boards = new BitBoard[count];
+            types = new int[count];
+            rotations = new int[count];
+            nexts = new int[count];
+            expected = new int[count * 3];
+            
+            for (int i = 0; i < count; i++)
+            {
+                boards[i] = new BitBoard();
+                
+                for (int row = 0; row < Board.ROWS; row++)
+                {
+                    final int mask = input.readShort();
+                    
+                    for (int col = 0; col < Board.COLS; col++)
+                    {
+                        if ((mask & (1 << col)) != 0)
+                            boards[i].set(col, row);
+                    }
+                }
+                
+                types[i] = input.readByte();
+                rotations[i] = input.readByte();
+                nexts[i] = input.readByte();
+                
+                expected[i * 3] = input.readByte();
+                expected[i * 3 + 1] = input.readByte();
+                expected[i * 3 + 2] = input.readByte();
+            }
+        }
+        finally
+        {
+            input.close();
+        }
+        
+        //search the same way the cpu does
+        final Search search = new Search(Cpu.WEIGHT_AGGREGATE_HEIGHT, Cpu.WEIGHT_COMPLETED_LINES, Cpu.WEIGHT_HOLES, Cpu.WEIGHT_BUMPINESS);
+        Cpu.configure(search, corpusDepth);
+        
+        //only change the configuration if asked
+        if (parallel != null)
+            search.setParallel(parallel);
+        
+        if (table != null)
+            search.setTable((table) ? new TranspositionTable(TABLE_CAPACITY) : null);
+        
+        //the bytes allocated by every thread, if supported
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        final com.sun.management.ThreadMXBean allocations = (threads instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean)threads).isThreadAllocatedMemorySupported()) ?
+            (com.sun.management.ThreadMXBean)threads : null;
+        
+        if (allocations != null)
+            allocations.setThreadAllocatedMemoryEnabled(true);
+        
+        final long[] latencies = new long[boards.length * rounds];
+        long allocated = 0;
+        int agree = 0;
+        int first = NO_PLACEMENT;
+        
+        //the first round warms up the search and is not counted
+        for (int round = -1; round < rounds; round++)
+        {
+            //every round starts with an empty table, so each round searches the same way
+            if (search.getTable() != null)
+                search.getTable().clear();
+            
+            final long before = (allocations != null) ? AllocationCheck.getAllocatedBytes(allocations) : 0;
+            
+            for (int i = 0; i < boards.length; i++)
+            {
+                final long start = System.nanoTime();
+                
+                final Placement placement = search.find(boards[i], types[i], rotations[i], nexts[i]);
+                
+                final long nanos = System.nanoTime() - start;
+                
+                if (round < 0)
+                    continue;
+                
+                latencies[round * boards.length + i] = nanos;
+                
+                //the moves are the same every round, so only check the first round
+                if (round == 0)
+                {
+                    final boolean same = (placement == null) ? (expected[i * 3] == NO_PLACEMENT) :
+                        (placement.getRotation() == expected[i * 3] && placement.getCol() == expected[i * 3 + 1] && placement.getRow() == expected[i * 3 + 2]);
+                    
+                    if (same)
+                    {
+                        agree++;
+                    }
+                    else if (first == NO_PLACEMENT)
+                    {
+                        first = i;
+                    }
+                }
+            }
+            
+            if (round >= 0 && allocations != null)
+                allocated += AllocationCheck.getAllocatedBytes(allocations) - before;
+        }
+        
+        Arrays.sort(latencies);
+        
+        long total = 0;
+        
+        for (int i = 0; i < latencies.length; i++)
+        {
+            total += latencies[i];
+        }
+        
+        writer.println("  {");
+        writer.println("    \"corpus\": \"" + corpus.replace("\\", "\\\\") + "\", \"positions\": " + boards.length + ", \"depth\": " + corpusDepth +
+            ", \"rounds\": " + rounds + ", \"parallel\": " + search.isParallel() + ", \"table\": " + (search.getTable() != null) + ",");
+        
+        writer.print("    \"latency_us\": {\"mean\": " + (total / latencies.length / 1000));
+        
+        for (int i = 0; i < PERCENTILES.length; i++)
+        {
+            writer.print(", \"p" + Double.toString(PERCENTILES[i] * 100).replaceAll("\\.0$", "") + "\": " + (getPercentile(latencies, PERCENTILES[i]) / 1000));
+        }
+        
+        writer.println(", \"max\": " + (latencies[latencies.length - 1] / 1000) + "},");
+        writer.println("    \"bytes_per_decision\": " + ((allocations != null) ? allocated / latencies.length : -1) + ",");
+        writer.println("    \"agreement\": {\"same\": " + agree + ", \"different\": " + (boards.length - agree) + ", \"first_different\": " + first + "}");
+        writer.println(last ? "  }" : "  },");
+        
+        return (agree == boards.length);
+    }
+    
+    public static void main(String[] args)
+    {
+        try
+        {
+            final SearchBench bench = new SearchBench(args);
+            
+            //the placements don't match the stored placements
+            boolean result = true;
+            
+            if (bench.record != null)
+            {
+                bench.record();
+            }
+            else
+            {
+                result = bench.run();
+            }
+            
+            //write the search events if tracing is on
+            if (Trace.ENABLED)
+                Trace.dump(new File(Shared.TRACE_FILE));
+            
+            if (!result)
+                System.exit(1);
+        }
+        catch (Exception e)
+        {
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,341 @@
+package com.gamesbykevin.tetris.tools;
+
+import com.gamesbykevin.tetris.ai.Agent;
+import com.gamesbykevin.tetris.ai.Search;
+import com.gamesbykevin.tetris.ai.TranspositionTable;
+import com.gamesbykevin.tetris.game.Game;
+import com.gamesbykevin.tetris.game.IGame;
+import com.gamesbykevin.tetris.player.Cpu;
+import com.gamesbykevin.tetris.shared.Shared;
+import com.gamesbykevin.tetris.shared.Trace;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Command line runner that plays independent cpu games on a thread pool without a display.<br>
+ * Each game has its own seeded random object, game n uses the seed + n so any game can be repeated.<br>
+ * A result is written as soon as each game finishes.<br>
+ * Usage: SelfPlay [-games n] [-threads n] [-seed n] [-depth 1|2] [-pieces n] [-weights height,lines,holes,bumpiness] [-format csv|jsonl] [-out file]
+ * @author GOD
+ */
+public final class SelfPlay
+{
+    //the output formats
+    private static final String FORMAT_CSV = "csv";
+    private static final String FORMAT_JSONL = "jsonl";
+    
+    //the maximum number of board states cached by each game
+    private static final int TABLE_CAPACITY = (1 << 16);
+    
+    //the number of games to play
+    private int games = 100;
+    
+    //the number of games played at the same time
+    private int threads = Runtime.getRuntime().availableProcessors();
+    
+    //the seed of the first game
+    private long seed = System.nanoTime();
+    
+    //how many pieces does the cpu look ahead
+    private int depth = 1;
+    
+    //the maximum number of pieces placed in a game, 0 for no limit
+    private int pieces = 0;
+    
+    //the score weights of the cpu
+    private double weightAggregateHeight = Cpu.WEIGHT_AGGREGATE_HEIGHT;
+    private double weightCompletedLines = Cpu.WEIGHT_COMPLETED_LINES;
+    private double weightHoles = Cpu.WEIGHT_HOLES;
+    private double weightBumpiness = Cpu.WEIGHT_BUMPINESS;
+    
+    //the format of each result
+    private String format = FORMAT_CSV;
+    
+    //the file the results are written to, null for the console
+    private String out = null;
+    
+    /**
+     * The result of a single game
+     */
+    private static final class Result
+    {
+        //the index of the game
+        private final int game;
+        
+        //the seed of the game
+        private final long seed;
+        
+        //the number of lines completed
+        private final int lines;
+        
+        //the number of pieces placed
+        private final int pieces;
+        
+        //how long the game took (nanoseconds)
+        private final long nanos;
+        
+        //the reason the game ended
+        private final String cause;
+        
+        private Result(final int game, final long seed, final int lines, final int pieces, final long nanos, final String cause)
+        {
+            this.game = game;
+            this.seed = seed;
+            this.lines = lines;
+            this.pieces = pieces;
+            this.nanos = nanos;
+            this.cause = cause;
+        }
+    }
+    
+    /**
+     * Task to play a single game
+     */
+    private final class Task implements Callable<Result>
+    {
+        //the index of the game
+        private final int game;
+        
+        private Task(final int game)
+        {
+            this.game = game;
+        }
+        
+        @Override
+        public Result call() throws Exception
+        {
+            return play(game);
+        }
+    }
+    
+    /**
+     * Parse the command line arguments
+     * @param args The arguments
+     * @throws Exception if an argument is not recognized or is missing a value
+     */
+    private SelfPlay(final String[] args) throws Exception
+    {
+        for (int i = 0; i < args.length; i++)
+        {
+            if (i + 1 >= args.length)
+                throw new Exception("Missing value for " + args[i]);
+            
+            final String value = args[++i];
+            
+            switch (args[i - 1])
+            {
+                case "-games":
+                    games = Integer.parseInt(value);
+                    break;
+                
+                case "-threads":
+                    threads = Integer.parseInt(value);
+                    break;
+                
+                case "-seed":
+                    seed = Long.parseLong(value);
+                    break;
+                
+                case "-depth":
+                    depth = Integer.parseInt(value);
+                    break;
+                
+                case "-pieces":
+                    pieces = Integer.parseInt(value);
+                    break;
+                
+                case "-weights":
+                    final String[] weights = value.split(",");
+                    
+                    if (weights.length != 4)
+                        throw new Exception("Expected 4 weights, weights = " + value);
+                    
+                    weightAggregateHeight = Double.parseDouble(weights[0]);
+                    weightCompletedLines = Double.parseDouble(weights[1]);
+                    weightHoles = Double.parseDouble(weights[2]);
+                    weightBumpiness = Double.parseDouble(weights[3]);
+                    break;
+                
+                case "-format":
+                    if (!value.equals(FORMAT_CSV) && !value.equals(FORMAT_JSONL))
+                        throw new Exception("Format is not setup = " + value);
+                    
+                    format = value;
+                    break;
+                
+                case "-out":
+                    out = value;
+                    break;
+                
+                default:
+                    throw new Exception("Argument is not setup = " + args[i - 1]);
+            }
+        }
+        
+        if (games < 1 || threads < 1)
+            throw new Exception("Games and threads must be at least 1");
+    }
+    
+    /**
+     * Play a single game until the game is over or the piece limit is reached
+     * @param game The index of the game
+     * @return The result of the game
+     * @throws Exception if the depth is not supported
+     */
+    private Result play(final int game) throws Exception
+    {
+        final long start = System.nanoTime();
+        
+        //each game has its own random object, so the result does not depend on the other games
+        final Game tetris = new Game(new Random(seed + game));
+        
+        //the games are already played in parallel, so each search uses a single thread
+        final Search search = new Search(weightAggregateHeight, weightCompletedLines, weightHoles, weightBumpiness);
+        search.setDepth(depth);
+        
+        //the table only caches the reply scores when looking ahead, the same as the cpu
+        if (depth > 1)
+            search.setTable(new TranspositionTable(TABLE_CAPACITY));
+        
+        final Agent agent = new Agent(search);
+        
+        //the number of pieces placed
+        int count = 0;
+        
+        while (!tetris.hasGameover() && (pieces == 0 || count < pieces))
+        {
+            if (tetris.hasPiece())
+            {
+                //place the current piece
+                agent.play(tetris);
+                count++;
+            }
+            else
+            {
+                //create the next piece or remove completed rows
+                tetris.tick();
+            }
+        }
+        
+        return new Result(game, seed + game, tetris.getLines(), count, System.nanoTime() - start, getCause(tetris));
+    }
+    
+    /**
+     * Get the description of the reason the game ended
+     * @param game The game
+     * @return The description
+     */
+    private static String getCause(final IGame game)
+    {
+        switch (game.getCause())
+        {
+            case IGame.CAUSE_CEILING:
+                return "ceiling";
+            
+            case IGame.CAUSE_OVERLAP:
+                return "overlap";
+            
+            case IGame.CAUSE_START_AREA:
+                return "start_area";
+            
+            default:
+                return "piece_limit";
+        }
+    }
+    
+    /**
+     * Write the result
+     * @param writer The object we are writing to
+     * @param result The result of the game
+     */
+    private void write(final PrintWriter writer, final Result result)
+    {
+        final long milliseconds = result.nanos / 1000000L;
+        
+        if (format.equals(FORMAT_JSONL))
+        {
+            writer.println("{\"game\":" + result.game + ",\"seed\":" + result.seed + ",\"lines\":" + result.lines +
+                ",\"pieces\":" + result.pieces + ",\"ms\":" + milliseconds + ",\"cause\":\"" + result.cause + "\"}");
+        }
+        else
+        {
+            writer.println(result.game + "," + result.seed + "," + result.lines + "," + result.pieces + "," + milliseconds + "," + result.cause);
+        }
+        
+        //make the result available right away
+        writer.flush();
+    }
+    
+    /**
+     * Play every game and write the results as they finish
+     * @throws Exception if a game fails or the output can't be written
+     */
+    private void run() throws Exception
+    {
+        final ExecutorService pool = Executors.newFixedThreadPool(threads);
+        final CompletionService<Result> service = new ExecutorCompletionService<>(pool);
+        
+        final PrintWriter writer = (out == null) ? new PrintWriter(System.out) : new PrintWriter(new OutputStreamWriter(new FileOutputStream(out), "UTF-8"));
+        
+        try
+        {
+            for (int game = 0; game < games; game++)
+            {
+                service.submit(new Task(game));
+            }
+            
+            if (format.equals(FORMAT_CSV))
+                writer.println("game,seed,lines,pieces,ms,cause");
+            
+            final long start = System.nanoTime();
+            long lines = 0;
+            
+            //write each result in the order the games finish
+            for (int game = 0; game < games; game++)
+            {
+                final Result result = service.take().get();
+                
+                lines += result.lines;
+                
+                write(writer, result);
+            }
+            
+            System.err.println("Games = " + games + ", average lines = " + ((double)lines / games) + ", time = " + ((System.nanoTime() - start) / 1000000L) + " ms");
+        }
+        finally
+        {
+            pool.shutdownNow();
+            
+            if (out != null)
+                writer.close();
+            else
+                writer.flush();
+        }
+    }
+    
+    public static void main(String[] args)
+    {
+        try
+        {
+            new SelfPlay(args).run();
+            
+            //write the search events if tracing is on
+            if (Trace.ENABLED)
+                Trace.dump(new File(Shared.TRACE_FILE));
+        }
+        catch (Exception e)
+        {
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+}
\ No newline at end of file